@@ -3,16 +3,82 @@
 
 \c data_service_db;
 
+-- Increment matches the pooled allocationSize on DataEntity so Hibernate can batch inserts
+CREATE SEQUENCE IF NOT EXISTS data_entity_id_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS data_entity (
-    id              BIGSERIAL PRIMARY KEY,
+    id              BIGINT PRIMARY KEY DEFAULT nextval('data_entity_id_seq'),
     name            VARCHAR(255) NOT NULL,
     description     TEXT,
     category        VARCHAR(100),
     metadata        JSONB DEFAULT '{}',
+    version         BIGINT NOT NULL DEFAULT 0,
     created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
-    updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+    updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    -- Maintained by PostgreSQL; name ranks above category, category above description
+    search_vector   TSVECTOR GENERATED ALWAYS AS (
+                        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+                        setweight(to_tsvector('simple', coalesce(category, '')), 'B') ||
+                        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+                    ) STORED
 );
 
-CREATE INDEX idx_data_entity_category ON data_entity(category);
+-- Also serves plain category lookups; (created_at, id) lets a category's keyset pages walk it in order
+CREATE INDEX idx_data_entity_category ON data_entity(category, created_at, id);
 CREATE INDEX idx_data_entity_name ON data_entity(name);
-CREATE INDEX idx_data_entity_created_at ON data_entity(created_at);
+CREATE INDEX idx_data_entity_created_at ON data_entity(created_at, id);
+CREATE INDEX idx_data_entity_search ON data_entity USING GIN (search_vector);
+
+-- Metadata filters: equality and containment compile to metadata @> '...', served by this index
+CREATE INDEX idx_data_entity_metadata ON data_entity USING GIN (metadata jsonb_path_ops);
+
+-- Numeric range filters compare data_metadata_number(metadata, '{key}'); it yields NULL for
+-- non-numeric values instead of failing the cast, and can back an expression index per hot key
+CREATE OR REPLACE FUNCTION data_metadata_number(metadata JSONB, path TEXT[]) RETURNS NUMERIC AS $$
+    SELECT CASE WHEN jsonb_typeof(metadata #> path) = 'number' THEN (metadata #>> path)::NUMERIC END
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE INDEX idx_data_entity_metadata_priority ON data_entity (data_metadata_number(metadata, '{priority}'));
+CREATE INDEX idx_data_entity_metadata_size ON data_entity (data_metadata_number(metadata, '{size}'));
+
+ALTER SEQUENCE data_entity_id_seq OWNED BY data_entity.id;
+
+-- Change capture: every write to data_entity, including direct SQL, lands in the outbox,
+-- which data-service relays to Redis (cache eviction + the data:changes stream)
+CREATE TABLE IF NOT EXISTS data_entity_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    entity_id       BIGINT NOT NULL,
+    operation       VARCHAR(10) NOT NULL,
+    version         BIGINT,
+    changed_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+-- Updates that do not bump the version themselves (manual fixes, migrations) still get a new one,
+-- so cached copies of the old row are recognisably older
+CREATE OR REPLACE FUNCTION data_entity_bump_version() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.version = OLD.version THEN
+        NEW.version := OLD.version + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER data_entity_bump_version
+    BEFORE UPDATE ON data_entity
+    FOR EACH ROW EXECUTE FUNCTION data_entity_bump_version();
+
+CREATE OR REPLACE FUNCTION data_entity_capture_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO data_entity_outbox (entity_id, operation, version) VALUES (OLD.id, TG_OP, OLD.version);
+        RETURN OLD;
+    END IF;
+    INSERT INTO data_entity_outbox (entity_id, operation, version) VALUES (NEW.id, TG_OP, NEW.version);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER data_entity_capture_change
+    AFTER INSERT OR UPDATE OR DELETE ON data_entity
+    FOR EACH ROW EXECUTE FUNCTION data_entity_capture_change();
@@ -9,16 +9,35 @@ CREATE TABLE IF NOT EXISTS report (
     type            VARCHAR(50) NOT NULL,
     status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',
     parameters      JSONB DEFAULT '{}',
+    fingerprint     VARCHAR(64),
     result_path     VARCHAR(500),
     error_message   TEXT,
     generated_at    TIMESTAMP WITH TIME ZONE,
+    -- Job queue state: the worker holding the lease, when it expires, and how often it was claimed
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    locked_by       VARCHAR(255),
+    locked_until    TIMESTAMP WITH TIME ZONE,
     created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
     updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW()
 );
 
-CREATE INDEX idx_report_status ON report(status);
-CREATE INDEX idx_report_type ON report(type);
-CREATE INDEX idx_report_created_at ON report(created_at);
+-- Keyset listing, newest first: one index per filter combination (none, status, type, both),
+-- each ending in (created_at, id) so a page is a bounded range scan in cursor order
+CREATE INDEX idx_report_created_at ON report(created_at, id);
+CREATE INDEX idx_report_status_created_at ON report(status, created_at, id);
+CREATE INDEX idx_report_type_created_at ON report(type, created_at, id);
+CREATE INDEX idx_report_type_status_created_at ON report(type, status, created_at, id);
+
+-- Only queued and running reports: keeps claiming (oldest first) and the pending count cheap
+-- however many finished reports accumulate
+CREATE INDEX idx_report_queue ON report(created_at, id) WHERE status IN ('PENDING', 'PROCESSING');
+
+-- Deduplication: at most one queued/running report per fingerprint, and a lookup of the newest
+-- completed one
+CREATE UNIQUE INDEX idx_report_fingerprint_active ON report(fingerprint)
+    WHERE status IN ('PENDING', 'PROCESSING');
+CREATE INDEX idx_report_fingerprint_completed ON report(fingerprint, generated_at DESC)
+    WHERE status = 'COMPLETED';
 
 -- Constraint to enforce valid status values
 ALTER TABLE report ADD CONSTRAINT chk_report_status
@@ -176,6 +176,8 @@ module "reports_service" {
     { name = "SPRING_PROFILES_ACTIVE", value = "azure" },
     { name = "SPRING_DATASOURCE_URL", value = "jdbc:postgresql://${module.postgres.server_fqdn}:5432/reports_service_db" },
     { name = "SPRING_DATASOURCE_USERNAME", value = var.postgres_admin_username },
+    { name = "DATA_SERVICE_URL", value = "http://data-service" },
+    { name = "BLOB_SERVICE_URL", value = "http://blob-service" },
   ]
   secrets = [
     { name = "db-password", value = var.postgres_admin_password },
@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Hold many slow downloads open against blob-service at once and report how many completed,
+# how long they took and how many JVM threads the service needed to serve them.
+# Run it once per concurrency mode and compare:
+#   SPRING_THREADS_VIRTUAL_ENABLED=false  (blocking: one Tomcat platform thread per download, max 200)
+#   SPRING_THREADS_VIRTUAL_ENABLED=true   (virtual threads, bounded by connections instead)
+# Usage: bench-blob-download-concurrency.sh [concurrency] [size-mb] [client-rate]
+set -e
+
+CONCURRENCY="${1:-1000}"
+SIZE_MB="${2:-4}"
+CLIENT_RATE="${3:-256k}"
+BLOB_SERVICE_URL="${BLOB_SERVICE_URL:-http://localhost:8081}"
+CONTAINER="${CONTAINER:-bench}"
+BLOB="bench-concurrency.bin"
+
+PAYLOAD="$(mktemp)"
+RESULTS="$(mktemp)"
+trap 'rm -f "$PAYLOAD" "$RESULTS"' EXIT
+
+echo "Uploading ${SIZE_MB}MB blob..."
+head -c "$((SIZE_MB * 1024 * 1024))" /dev/urandom > "$PAYLOAD"
+curl -sf -o /dev/null -H "Content-Type: application/octet-stream" -T "$PAYLOAD" \
+  "$BLOB_SERVICE_URL/api/blobs/$CONTAINER/$BLOB"
+
+threads() {
+  curl -sf "$BLOB_SERVICE_URL/actuator/metrics/jvm.threads.live" \
+    | grep -o '"value":[0-9.]*' | head -1 | cut -d: -f2
+}
+
+echo "Starting $CONCURRENCY downloads throttled to $CLIENT_RATE/s each..."
+threads_before="$(threads)"
+started=$(date +%s.%N)
+
+for i in $(seq 1 "$CONCURRENCY"); do
+  curl -s -o /dev/null --limit-rate "$CLIENT_RATE" --max-time 600 \
+    -w '%{http_code} %{time_starttransfer} %{time_total}\n' \
+    "$BLOB_SERVICE_URL/api/blobs/$CONTAINER/$BLOB" >> "$RESULTS" &
+done
+
+sleep 5
+threads_peak="$(threads)"
+wait
+finished=$(date +%s.%N)
+
+awk -v wall="$(echo "$finished - $started" | bc)" -v before="$threads_before" -v peak="$threads_peak" '
+  { total++; if ($1 == 200) ok++; ttfb += $2; if ($2 > max_ttfb) max_ttfb = $2 }
+  END {
+    printf "downloads ok     %d/%d\n", ok, total
+    printf "wall time        %.1fs\n", wall
+    printf "avg first byte   %.3fs (max %.3fs)\n", ttfb / total, max_ttfb
+    printf "jvm threads      %s before, %s under load\n", before, peak
+  }' "$RESULTS"
+
+curl -sf -X DELETE "$BLOB_SERVICE_URL/api/blobs/$CONTAINER/$BLOB" > /dev/null || true
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Compare blob-service upload throughput against the local Azurite stack:
+# multipart POST (buffered by Spring) vs. streamed PUT (parallel staged blocks).
+# Usage: bench-blob-upload.sh [size-mb] [runs]
+set -e
+
+SIZE_MB="${1:-100}"
+RUNS="${2:-3}"
+BLOB_SERVICE_URL="${BLOB_SERVICE_URL:-http://localhost:8081}"
+CONTAINER="${CONTAINER:-bench}"
+
+PAYLOAD="$(mktemp)"
+trap 'rm -f "$PAYLOAD"' EXIT
+
+echo "Generating ${SIZE_MB}MB payload..."
+head -c "$((SIZE_MB * 1024 * 1024))" /dev/urandom > "$PAYLOAD"
+
+report() {
+  local label="$1" seconds="$2"
+  awk -v l="$label" -v s="$seconds" -v mb="$SIZE_MB" \
+    'BEGIN { printf "%-10s %8.2fs %8.1f MB/s\n", l, s, mb / s }'
+}
+
+for run in $(seq 1 "$RUNS"); do
+  echo "--- run $run/$RUNS"
+
+  seconds=$(curl -sf -o /dev/null -w '%{time_total}' \
+    -F "file=@${PAYLOAD};filename=bench-multipart.bin" \
+    "$BLOB_SERVICE_URL/api/blobs/$CONTAINER")
+  report "multipart" "$seconds"
+
+  seconds=$(curl -sf -o /dev/null -w '%{time_total}' \
+    -H "Content-Type: application/octet-stream" \
+    -T "$PAYLOAD" \
+    "$BLOB_SERVICE_URL/api/blobs/$CONTAINER/bench-streamed.bin")
+  report "streamed" "$seconds"
+done
+
+curl -sf -X DELETE "$BLOB_SERVICE_URL/api/blobs/$CONTAINER/bench-multipart.bin" > /dev/null || true
+curl -sf -X DELETE "$BLOB_SERVICE_URL/api/blobs/$CONTAINER/bench-streamed.bin" > /dev/null || true
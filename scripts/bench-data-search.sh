@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Compare data-service search latency as data_entity grows: the old LIKE '%q%' scan
+# vs. the tsvector/GIN full-text query. Runs against a scratch copy of the table in the
+# compose Postgres, so the real data_entity is left untouched.
+# Usage: bench-data-search.sh [query] [max-rows]
+set -e
+
+QUERY="${1:-report}"
+MAX_ROWS="${2:-1000000}"
+POSTGRES_USER="${POSTGRES_USER:-appuser}"
+
+psql() {
+  docker compose exec -T postgres psql -U "$POSTGRES_USER" -d data_service_db -qAtX "$@"
+}
+
+execution_ms() {
+  psql -c "EXPLAIN (ANALYZE, FORMAT TEXT) $1" | sed -n 's/^Execution Time: \([0-9.]*\) ms$/\1/p'
+}
+
+psql -c "DROP TABLE IF EXISTS data_entity_bench;
+         CREATE TABLE data_entity_bench (LIKE data_entity INCLUDING ALL);"
+trap 'psql -c "DROP TABLE IF EXISTS data_entity_bench;"' EXIT
+
+LIKE_SQL="SELECT * FROM data_entity_bench WHERE
+  LOWER(name) LIKE LOWER('%${QUERY}%') OR
+  LOWER(description) LIKE LOWER('%${QUERY}%') OR
+  LOWER(category) LIKE LOWER('%${QUERY}%')
+  LIMIT 20"
+FTS_SQL="SELECT d.* FROM data_entity_bench d, to_tsquery('simple', '${QUERY}:*') q
+  WHERE d.search_vector @@ q ORDER BY ts_rank_cd(d.search_vector, q) DESC, d.id DESC LIMIT 20"
+
+printf "%10s %12s %12s\n" "rows" "like (ms)" "fts (ms)"
+rows=0
+target=10000
+while [ "$target" -le "$MAX_ROWS" ]; do
+  psql -c "INSERT INTO data_entity_bench (name, description, category)
+           SELECT 'item ' || i || ' ' || md5(i::text),
+                  'generated row ' || md5((i * 7)::text) || CASE WHEN i % 1000 = 0 THEN ' ${QUERY}' ELSE '' END,
+                  'category-' || (i % 50)
+           FROM generate_series($((rows + 1)), $target) AS i;
+           ANALYZE data_entity_bench;"
+  rows=$target
+  printf "%10d %12s %12s\n" "$rows" "$(execution_ms "$LIKE_SQL")" "$(execution_ms "$FTS_SQL")"
+  target=$((target * 10))
+done
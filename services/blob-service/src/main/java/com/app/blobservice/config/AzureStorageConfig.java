@@ -1,10 +1,17 @@
 package com.app.blobservice.config;
 
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.batch.BlobBatchClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class AzureStorageConfig {
@@ -12,10 +19,53 @@ public class AzureStorageConfig {
     @Value("${azure.storage.connection-string}")
     private String connectionString;
 
+    @Value("${azure.storage.http.max-connections:1000}")
+    private int maxConnections;
+
+    @Value("${azure.storage.http.pending-acquire-max-count:10000}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${azure.storage.http.pending-acquire-timeout:30s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${azure.storage.http.max-idle-time:60s}")
+    private Duration maxIdleTime;
+
+    @Value("${azure.storage.http.response-timeout:60s}")
+    private Duration responseTimeout;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider azureConnectionProvider() {
+        // Reactor Netty defaults to 2 * cores connections with a small pending queue, which caps
+        // concurrent downloads far below what virtual-thread request handling can keep open
+        return ConnectionProvider.builder("azure-storage")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public HttpClient azureHttpClient(ConnectionProvider azureConnectionProvider) {
+        return new NettyAsyncHttpClientBuilder()
+                .connectionProvider(azureConnectionProvider)
+                .responseTimeout(responseTimeout)
+                .build();
+    }
+
     @Bean
-    public BlobServiceClient blobServiceClient() {
+    public BlobServiceClient blobServiceClient(HttpClient azureHttpClient) {
         return new BlobServiceClientBuilder()
                 .connectionString(connectionString)
+                .httpClient(azureHttpClient)
                 .buildClient();
     }
+
+    @Bean
+    public BlobBatchClient blobBatchClient(BlobServiceClient blobServiceClient) {
+        return new BlobBatchClientBuilder(blobServiceClient).buildClient();
+    }
 }
@@ -1,17 +1,33 @@
 package com.app.blobservice.controller;
 
+import com.app.blobservice.model.BatchRequest;
+import com.app.blobservice.model.BatchResult;
+import com.app.blobservice.model.BlobDownload;
 import com.app.blobservice.model.BlobMetadata;
+import com.app.blobservice.model.BlobPage;
+import com.app.blobservice.model.CopyRequest;
+import com.app.blobservice.model.CopyStatus;
 import com.app.blobservice.model.UploadResponse;
+import com.app.blobservice.model.UploadSession;
+import com.app.blobservice.service.BlobBatchService;
+import com.app.blobservice.service.BlobCopyService;
 import com.app.blobservice.service.BlobStorageService;
+import com.app.blobservice.service.UploadSessionService;
+import com.azure.storage.blob.models.BlobStorageException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/blobs")
@@ -19,6 +35,11 @@ import java.util.List;
 public class BlobController {
 
     private final BlobStorageService blobStorageService;
+    private final UploadSessionService uploadSessionService;
+    private final BlobBatchService blobBatchService;
+    private final BlobCopyService blobCopyService;
+
+    private static final int MAX_PAGE_SIZE = 5000;
 
     @GetMapping("/containers")
     public ResponseEntity<List<String>> listContainers() {
@@ -26,8 +47,26 @@ public class BlobController {
     }
 
     @GetMapping("/{container}")
-    public ResponseEntity<List<BlobMetadata>> listBlobs(@PathVariable String container) {
-        return ResponseEntity.ok(blobStorageService.listBlobs(container));
+    public ResponseEntity<BlobPage> listBlobs(
+            @PathVariable String container,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String delimiter,
+            @RequestParam(defaultValue = "1000") int pageSize,
+            @RequestParam(required = false) String continuationToken) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(blobStorageService.listBlobs(
+                container, prefix, delimiter, pageSize, continuationToken));
+    }
+
+    @GetMapping(value = "/{container}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBlobs(
+            @PathVariable String container,
+            @RequestParam(required = false) String prefix) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> blobStorageService.streamBlobs(container, prefix, out));
     }
 
     @GetMapping("/{container}/{blob}/metadata")
@@ -38,18 +77,78 @@ public class BlobController {
     }
 
     @GetMapping("/{container}/{blob}")
-    public ResponseEntity<byte[]> downloadBlob(
+    public ResponseEntity<StreamingResponseBody> downloadBlob(
             @PathVariable String container,
-            @PathVariable String blob) {
-        byte[] data = blobStorageService.downloadBlob(container, blob);
-        BlobMetadata metadata = blobStorageService.getBlobMetadata(container, blob);
+            @PathVariable String blob,
+            @RequestHeader HttpHeaders requestHeaders) throws IOException {
+        try {
+            return download(container, blob, requestHeaders,
+                    blobStorageService.getCachedBlobMetadata(container, blob));
+        } catch (BlobStorageException ex) {
+            if (ex.getStatusCode() != HttpStatus.PRECONDITION_FAILED.value()) {
+                throw ex;
+            }
+            // The cached ETag is stale because the blob changed outside this service
+            blobStorageService.evictBlobMetadata(container, blob);
+            return download(container, blob, requestHeaders, null);
+        }
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + blob + "\"")
-                .contentType(MediaType.parseMediaType(
-                        metadata.getContentType() != null ? metadata.getContentType() : "application/octet-stream"))
-                .contentLength(data.length)
-                .body(data);
+    private ResponseEntity<StreamingResponseBody> download(
+            String container, String blob, HttpHeaders requestHeaders, BlobMetadata known) throws IOException {
+        List<HttpRange> ranges = parseRanges(requestHeaders);
+        boolean conditional = !requestHeaders.getIfNoneMatch().isEmpty() || requestHeaders.getIfModifiedSince() >= 0;
+
+        // Ranges and conditionals need the blob's length and ETag before any content is fetched
+        BlobMetadata metadata = known;
+        if (metadata == null && (conditional || ranges.size() == 1)) {
+            metadata = blobStorageService.getBlobMetadata(container, blob);
+        }
+
+        if (metadata != null && isNotModified(requestHeaders, metadata)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(validatorHeaders(metadata))
+                    .build();
+        }
+
+        // Multi-range requests are answered with the full body rather than multipart/byteranges
+        long offset = 0;
+        Long count = null;
+        if (metadata != null && ranges.size() == 1 && rangeApplies(requestHeaders, metadata)) {
+            long length = metadata.getContentLength();
+            try {
+                offset = ranges.get(0).getRangeStart(length);
+                count = ranges.get(0).getRangeEnd(length) - offset + 1;
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+        }
+
+        BlobDownload download = blobStorageService.openDownload(container, blob, offset, count, metadata);
+        BlobMetadata current = download.getMetadata();
+
+        HttpHeaders headers = validatorHeaders(current);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + blob + "\"");
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentType(MediaType.parseMediaType(
+                current.getContentType() != null ? current.getContentType() : "application/octet-stream"));
+        headers.setContentLength(download.getCount());
+
+        StreamingResponseBody body = out -> {
+            try (download) {
+                download.writeTo(out);
+            }
+        };
+
+        if (count == null) {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+        long end = download.getOffset() + download.getCount() - 1;
+        headers.set(HttpHeaders.CONTENT_RANGE,
+                "bytes " + download.getOffset() + "-" + end + "/" + current.getContentLength());
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(body);
     }
 
     @PostMapping("/{container}")
@@ -59,6 +158,114 @@ public class BlobController {
         return ResponseEntity.ok(blobStorageService.uploadBlob(container, file));
     }
 
+    @PutMapping("/{container}/{blob}")
+    public ResponseEntity<UploadResponse> uploadBlobStream(
+            @PathVariable String container,
+            @PathVariable String blob,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(blobStorageService.uploadBlob(
+                container, blob, request.getInputStream(), request.getContentType()));
+    }
+
+    @PostMapping("/{container}/{blob}/uploads")
+    public ResponseEntity<UploadSession> startUploadSession(
+            @PathVariable String container,
+            @PathVariable String blob,
+            @RequestParam(required = false) String contentType) {
+        return ResponseEntity.ok(uploadSessionService.startSession(container, blob, contentType));
+    }
+
+    @GetMapping("/{container}/{blob}/uploads/{uploadId}")
+    public ResponseEntity<UploadSession> getUploadSession(
+            @PathVariable String container,
+            @PathVariable String blob,
+            @PathVariable String uploadId) {
+        return ResponseEntity.ok(uploadSessionService.getSession(container, blob, uploadId));
+    }
+
+    @PutMapping("/{container}/{blob}/uploads/{uploadId}/chunks/{index}")
+    public ResponseEntity<UploadSession> uploadChunk(
+            @PathVariable String container,
+            @PathVariable String blob,
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(uploadSessionService.uploadChunk(
+                container, blob, uploadId, index, request.getInputStream(), request.getContentLengthLong()));
+    }
+
+    @PostMapping("/{container}/{blob}/uploads/{uploadId}/commit")
+    public ResponseEntity<UploadResponse> commitUploadSession(
+            @PathVariable String container,
+            @PathVariable String blob,
+            @PathVariable String uploadId,
+            @RequestParam(required = false) Integer chunkCount) {
+        return ResponseEntity.ok(uploadSessionService.commit(container, blob, uploadId, chunkCount));
+    }
+
+    @DeleteMapping("/{container}/{blob}/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUploadSession(
+            @PathVariable String container,
+            @PathVariable String blob,
+            @PathVariable String uploadId) {
+        uploadSessionService.abort(container, blob, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{container}/{blob}/copy")
+    public ResponseEntity<CopyStatus> copyBlob(
+            @PathVariable String container,
+            @PathVariable String blob,
+            @RequestBody CopyRequest request) {
+        return copyResponse(blobCopyService.copy(
+                container, blob, request.getTargetContainer(), request.getTargetBlob(), false));
+    }
+
+    @PostMapping("/{container}/{blob}/move")
+    public ResponseEntity<CopyStatus> moveBlob(
+            @PathVariable String container,
+            @PathVariable String blob,
+            @RequestBody CopyRequest request) {
+        return copyResponse(blobCopyService.copy(
+                container, blob, request.getTargetContainer(), request.getTargetBlob(), true));
+    }
+
+    @GetMapping("/{container}/{blob}/copy")
+    public ResponseEntity<CopyStatus> getCopyStatus(
+            @PathVariable String container,
+            @PathVariable String blob) {
+        return ResponseEntity.ok(blobCopyService.getStatus(container, blob));
+    }
+
+    @PostMapping("/{container}/batch/delete")
+    public ResponseEntity<BatchResult> deleteBlobs(
+            @PathVariable String container,
+            @RequestBody BatchRequest request) {
+        return ResponseEntity.ok(blobBatchService.deleteBlobs(container, request.getBlobNames()));
+    }
+
+    @PostMapping("/{container}/batch/metadata")
+    public ResponseEntity<Map<String, BlobMetadata>> getBlobsMetadata(
+            @PathVariable String container,
+            @RequestBody BatchRequest request) {
+        return ResponseEntity.ok(blobBatchService.getBlobMetadata(container, request.getBlobNames()));
+    }
+
+    @PostMapping("/{container}/batch/zip")
+    public ResponseEntity<StreamingResponseBody> downloadBlobsAsZip(
+            @PathVariable String container,
+            @RequestParam(defaultValue = "download.zip") String filename,
+            @RequestBody BatchRequest request) {
+        // Validated before the response is committed so a bad request still gets a 400
+        List<String> blobNames = blobBatchService.validate(request.getBlobNames());
+
+        StreamingResponseBody body = out -> blobBatchService.zipBlobs(container, blobNames, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     @DeleteMapping("/{container}/{blob}")
     public ResponseEntity<Void> deleteBlob(
             @PathVariable String container,
@@ -66,4 +273,66 @@ public class BlobController {
         blobStorageService.deleteBlob(container, blob);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<CopyStatus> copyResponse(CopyStatus status) {
+        // Copies still running in Azure are polled via GET on the target's /copy
+        return "success".equals(status.getStatus())
+                ? ResponseEntity.ok(status)
+                : ResponseEntity.accepted().body(status);
+    }
+
+    private List<HttpRange> parseRanges(HttpHeaders requestHeaders) {
+        try {
+            return requestHeaders.getRange();
+        } catch (IllegalArgumentException ex) {
+            // A malformed Range header is ignored, as RFC 9110 allows
+            return List.of();
+        }
+    }
+
+    private boolean isNotModified(HttpHeaders requestHeaders, BlobMetadata metadata) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String etag = weakEtag(quoteEtag(metadata.getEtag()));
+            return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || weakEtag(tag).equals(etag));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0
+                && metadata.getLastModified() != null
+                && metadata.getLastModified().toEpochSecond() <= ifModifiedSince / 1000;
+    }
+
+    private boolean rangeApplies(HttpHeaders requestHeaders, BlobMetadata metadata) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(quoteEtag(metadata.getEtag()));
+        }
+        try {
+            long since = requestHeaders.getFirstDate(HttpHeaders.IF_RANGE);
+            return metadata.getLastModified() != null
+                    && metadata.getLastModified().toEpochSecond() == since / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private HttpHeaders validatorHeaders(BlobMetadata metadata) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(quoteEtag(metadata.getEtag()));
+        if (metadata.getLastModified() != null) {
+            headers.setLastModified(metadata.getLastModified().toInstant());
+        }
+        return headers;
+    }
+
+    private String quoteEtag(String etag) {
+        return etag.startsWith("\"") ? etag : "\"" + etag + "\"";
+    }
+
+    private String weakEtag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
 }
@@ -26,4 +26,11 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("error", "Bad request", "message", ex.getMessage()));
     }
+
+    @ExceptionHandler(UploadSessionNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleUploadSessionNotFound(UploadSessionNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Not found", "message", ex.getMessage()));
+    }
 }
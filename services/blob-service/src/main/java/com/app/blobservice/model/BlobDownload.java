@@ -0,0 +1,53 @@
+package com.app.blobservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Getter
+@AllArgsConstructor
+public class BlobDownload implements Closeable {
+    private final BlobMetadata metadata;
+    private final long offset;
+    private final long count;
+    private final Body body;
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        body.writeTo(outputStream);
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+
+    public interface Body extends Closeable {
+        void writeTo(OutputStream outputStream) throws IOException;
+
+        @Override
+        default void close() throws IOException {
+        }
+
+        static Body of(InputStream inputStream) {
+            return new Body() {
+                @Override
+                public void writeTo(OutputStream outputStream) throws IOException {
+                    inputStream.transferTo(outputStream);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    inputStream.close();
+                }
+            };
+        }
+
+        static Body of(byte[] content, int offset, int count) {
+            return outputStream -> outputStream.write(content, offset, count);
+        }
+    }
+}
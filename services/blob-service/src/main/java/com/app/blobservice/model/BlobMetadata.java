@@ -18,6 +18,7 @@ public class BlobMetadata implements Serializable {
     private String containerName;
     private Long contentLength;
     private String contentType;
+    private String etag;
     private OffsetDateTime lastModified;
     private Map<String, String> metadata;
 }
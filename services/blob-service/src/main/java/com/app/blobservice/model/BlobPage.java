@@ -0,0 +1,19 @@
+package com.app.blobservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobPage implements Serializable {
+    private List<BlobMetadata> items;
+    private List<String> prefixes;
+    private String continuationToken;
+}
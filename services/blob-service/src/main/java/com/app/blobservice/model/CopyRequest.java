@@ -0,0 +1,15 @@
+package com.app.blobservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CopyRequest {
+    private String targetContainer;
+    private String targetBlob;
+}
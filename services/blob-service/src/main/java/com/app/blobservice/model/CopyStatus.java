@@ -0,0 +1,20 @@
+package com.app.blobservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CopyStatus {
+    private String copyId;
+    private String containerName;
+    private String blobName;
+    private String source;
+    private String status;
+    private String progress;
+    private String statusDescription;
+}
@@ -0,0 +1,24 @@
+package com.app.blobservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+// A server-side copy or move still running in Azure, tracked in Redis until it finishes
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingCopy {
+    private String copyId;
+    private String sourceContainer;
+    private String sourceBlob;
+    private String sourceEtag;
+    private String targetContainer;
+    private String targetBlob;
+    private boolean move;
+    private OffsetDateTime startedAt;
+}
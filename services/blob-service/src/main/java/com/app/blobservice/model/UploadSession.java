@@ -0,0 +1,23 @@
+package com.app.blobservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.SortedMap;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+    private String uploadId;
+    private String containerName;
+    private String blobName;
+    private String contentType;
+    private OffsetDateTime createdAt;
+    private SortedMap<Integer, Long> chunks;
+    private Long receivedBytes;
+}
@@ -0,0 +1,155 @@
+package com.app.blobservice.service;
+
+import com.app.blobservice.model.BatchResult;
+import com.app.blobservice.model.BlobDownload;
+import com.app.blobservice.model.BlobMetadata;
+import com.azure.core.http.rest.Response;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.models.BlobStorageException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobBatchService {
+
+    private final BlobBatchClient blobBatchClient;
+    private final BlobStorageService blobStorageService;
+
+    private static final int AZURE_BATCH_LIMIT = 256;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${blob.batch.max-blobs:5000}")
+    private int maxBlobs;
+
+    @Value("${blob.batch.metadata-parallelism:16}")
+    private int metadataParallelism;
+
+    public BatchResult deleteBlobs(String containerName, List<String> blobNames) {
+        List<String> names = validate(blobNames);
+        List<String> succeeded = new ArrayList<>();
+        Map<String, String> failed = new LinkedHashMap<>();
+
+        for (int from = 0; from < names.size(); from += AZURE_BATCH_LIMIT) {
+            List<String> chunk = names.subList(from, Math.min(from + AZURE_BATCH_LIMIT, names.size()));
+            BlobBatch batch = blobBatchClient.getBlobBatch();
+            Map<String, Response<Void>> responses = new LinkedHashMap<>();
+            chunk.forEach(blobName -> responses.put(blobName, batch.deleteBlob(containerName, blobName)));
+
+            blobBatchClient.submitBatchWithResponse(batch, false, null, null);
+
+            responses.forEach((blobName, response) -> {
+                try {
+                    response.getStatusCode();
+                    succeeded.add(blobName);
+                } catch (BlobStorageException e) {
+                    failed.put(blobName, e.getErrorCode() != null ? e.getErrorCode().toString() : e.getMessage());
+                }
+            });
+        }
+
+        // Invalidate cache
+        if (!succeeded.isEmpty()) {
+            blobStorageService.invalidateCaches(containerName, succeeded);
+        }
+
+        log.info("Batch deleted {} blobs from {} ({} failed)", succeeded.size(), containerName, failed.size());
+        return BatchResult.builder().succeeded(succeeded).failed(failed).build();
+    }
+
+    public Map<String, BlobMetadata> getBlobMetadata(String containerName, List<String> blobNames) {
+        List<String> names = validate(blobNames);
+        Semaphore permits = new Semaphore(metadataParallelism);
+
+        Map<String, CompletableFuture<BlobMetadata>> lookups = new LinkedHashMap<>();
+        for (String blobName : names) {
+            lookups.put(blobName, CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return blobStorageService.getBlobMetadata(containerName, blobName);
+                } catch (BlobStorageException e) {
+                    if (e.getStatusCode() == 404) {
+                        return null;
+                    }
+                    throw e;
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+
+        // Missing blobs are reported with a null value rather than failing the whole batch
+        Map<String, BlobMetadata> results = new LinkedHashMap<>();
+        lookups.forEach((blobName, lookup) -> results.put(blobName, lookup.join()));
+        return results;
+    }
+
+    public void zipBlobs(String containerName, List<String> blobNames, OutputStream outputStream) throws IOException {
+        List<String> names = validate(blobNames);
+
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        zip.setLevel(Deflater.BEST_SPEED);
+        for (String blobName : names) {
+            BlobDownload download;
+            try {
+                download = blobStorageService.openDownload(containerName, blobName, 0, null, null);
+            } catch (BlobStorageException e) {
+                if (e.getStatusCode() != 404) {
+                    throw e;
+                }
+                // Headers are already committed, so a missing blob is left out of the archive
+                log.warn("Skipping missing blob in zip download: {}/{}", containerName, blobName);
+                continue;
+            }
+
+            try (download) {
+                ZipEntry entry = new ZipEntry(blobName);
+                if (download.getMetadata().getLastModified() != null) {
+                    entry.setLastModifiedTime(FileTime.from(download.getMetadata().getLastModified().toInstant()));
+                }
+                zip.putNextEntry(entry);
+                download.writeTo(zip);
+                zip.closeEntry();
+            }
+            zip.flush();
+        }
+        zip.finish();
+    }
+
+    public List<String> validate(List<String> blobNames) {
+        if (blobNames == null || blobNames.isEmpty()) {
+            throw new IllegalArgumentException("blobNames must not be empty");
+        }
+        if (blobNames.size() > maxBlobs) {
+            throw new IllegalArgumentException("At most " + maxBlobs + " blobs can be processed per request");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(blobNames));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
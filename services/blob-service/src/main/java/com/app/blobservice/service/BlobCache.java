@@ -0,0 +1,116 @@
+package com.app.blobservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// In-process near-cache in front of Redis for read-mostly blob metadata and listing pages.
+// Evictions are broadcast over Redis pub/sub so every replica drops its local copy.
+@Slf4j
+@Component
+public class BlobCache implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "blob:cache:invalidate";
+    private static final String FIELD_SEPARATOR = "#";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Object> local;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public BlobCache(RedisTemplate<String, Object> redisTemplate,
+                     RedisMessageListenerContainer listenerContainer,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${blob.cache.local.max-size:10000}") long maxSize,
+                     @Value("${blob.cache.local.ttl:30s}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "blob-local");
+        this.redisHits = meterRegistry.counter("cache.gets", "cache", "blob-redis", "result", "hit");
+        this.redisMisses = meterRegistry.counter("cache.gets", "cache", "blob-redis", "result", "miss");
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    // Values are converted before they enter the local tier, so both tiers hand out typed objects
+    public <T> T get(String key, Class<T> type) {
+        return type.cast(local.get(key, k -> convert(countRedis(redisTemplate.opsForValue().get(k)), type)));
+    }
+
+    public <T> T getField(String key, String field, Class<T> type) {
+        return type.cast(local.get(key + FIELD_SEPARATOR + field,
+                k -> convert(countRedis(redisTemplate.opsForHash().get(key, field)), type)));
+    }
+
+    public void put(String key, Object value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+        local.put(key, value);
+    }
+
+    // The TTL is set once per hash, so every field expires together with the first one written
+    public void putField(String key, String field, Object value, Duration ttl) {
+        redisTemplate.opsForHash().put(key, field, value);
+        Long remaining = redisTemplate.getExpire(key);
+        if (remaining == null || remaining < 0) {
+            redisTemplate.expire(key, ttl);
+        }
+        local.put(key + FIELD_SEPARATOR + field, value);
+    }
+
+    public void evict(Collection<String> keys) {
+        redisTemplate.delete(keys);
+        evictLocal(keys);
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, new ArrayList<>(keys));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object keys = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (keys instanceof List<?> list) {
+            evictLocal(list.stream().map(Object::toString).toList());
+        } else {
+            log.warn("Ignoring malformed cache invalidation message on {}", INVALIDATION_CHANNEL);
+        }
+    }
+
+    private void evictLocal(Collection<String> keys) {
+        Set<String> evicted = Set.copyOf(keys);
+        local.asMap().keySet().removeIf(cached -> {
+            int separator = cached.indexOf(FIELD_SEPARATOR);
+            return evicted.contains(cached) || (separator >= 0 && evicted.contains(cached.substring(0, separator)));
+        });
+    }
+
+    // The shared ObjectMapper carries no type information, so Redis values come back as maps
+    private <T> T convert(Object value, Class<T> type) {
+        return value != null ? objectMapper.convertValue(value, type) : null;
+    }
+
+    private Object countRedis(Object value) {
+        (value != null ? redisHits : redisMisses).increment();
+        return value;
+    }
+}
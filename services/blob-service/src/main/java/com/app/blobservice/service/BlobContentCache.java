@@ -0,0 +1,191 @@
+package com.app.blobservice.service;
+
+import com.app.blobservice.model.BlobDownload;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Content cache for small, frequently downloaded blobs, keyed by container/blob/ETag so a new
+// version never hits an old entry. Entries evicted from the memory tier spill to an optional
+// disk tier, which is streamed to the response in small chunks instead of being read back onto the heap.
+@Slf4j
+@Component
+public class BlobContentCache {
+
+    private final Cache<String, byte[]> memory;
+    private final Cache<String, Path> disk;
+    private final Path diskDirectory;
+    private final long maxObjectSize;
+
+    public BlobContentCache(MeterRegistry meterRegistry,
+                            @Value("${blob.content-cache.max-object-size:1MB}") DataSize maxObjectSize,
+                            @Value("${blob.content-cache.memory-size:64MB}") DataSize memorySize,
+                            @Value("${blob.content-cache.disk.enabled:false}") boolean diskEnabled,
+                            @Value("${blob.content-cache.disk.size:1GB}") DataSize diskSize,
+                            @Value("${blob.content-cache.disk.directory:${java.io.tmpdir}/blob-content-cache}")
+                            Path diskDirectory) throws IOException {
+        this.maxObjectSize = maxObjectSize.toBytes();
+        this.diskDirectory = diskEnabled ? diskDirectory : null;
+
+        if (diskEnabled) {
+            FileSystemUtils.deleteRecursively(diskDirectory);
+            Files.createDirectories(diskDirectory);
+            this.disk = Caffeine.newBuilder()
+                    .maximumWeight(diskSize.toBytes())
+                    .<String, Path>weigher((key, path) -> (int) Math.min(fileSize(path), Integer.MAX_VALUE))
+                    .removalListener((key, path, cause) -> deleteQuietly(path))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, disk, "blob-content-disk");
+        } else {
+            this.disk = null;
+        }
+
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memorySize.toBytes())
+                .<String, byte[]>weigher((key, content) -> content.length)
+                .removalListener((String key, byte[] content, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        spillToDisk(key, content);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "blob-content-memory");
+    }
+
+    public boolean accepts(long contentLength) {
+        return contentLength <= maxObjectSize;
+    }
+
+    public Optional<BlobDownload.Body> get(String containerName, String blobName, String etag,
+                                           long offset, long count) {
+        String key = key(containerName, blobName, etag);
+
+        byte[] content = memory.getIfPresent(key);
+        if (content != null) {
+            return Optional.of(BlobDownload.Body.of(content, (int) offset, (int) count));
+        }
+
+        Path path = disk != null ? disk.getIfPresent(key) : null;
+        if (path == null) {
+            return Optional.empty();
+        }
+        try {
+            // Opened up front: once open, the channel keeps reading the file even if it is evicted meanwhile
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            return Optional.of(new BlobDownload.Body() {
+                @Override
+                public void writeTo(OutputStream outputStream) throws IOException {
+                    transferFile(channel, offset, count, outputStream);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    channel.close();
+                }
+            });
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void put(String containerName, String blobName, String etag, byte[] content) {
+        if (accepts(content.length)) {
+            memory.put(key(containerName, blobName, etag), content);
+        }
+    }
+
+    public void evict(String containerName, Collection<String> blobNames) {
+        Set<String> prefixes = blobNames.stream()
+                .map(blobName -> key(containerName, blobName, ""))
+                .collect(Collectors.toSet());
+        Predicate<String> matches = key -> prefixes.contains(key.substring(0, key.lastIndexOf('@') + 1));
+        memory.asMap().keySet().removeIf(matches);
+        if (disk != null) {
+            disk.asMap().keySet().removeIf(matches);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (diskDirectory != null) {
+            disk.invalidateAll();
+            FileSystemUtils.deleteRecursively(diskDirectory);
+        }
+    }
+
+    private void spillToDisk(String key, byte[] content) {
+        if (disk == null) {
+            return;
+        }
+        Path path = diskDirectory.resolve(UUID.randomUUID().toString());
+        try {
+            Files.write(path, content);
+            disk.put(key, path);
+        } catch (IOException e) {
+            log.warn("Failed to spill cached blob content to disk: {}", key, e);
+            deleteQuietly(path);
+        }
+    }
+
+    // The target wraps the servlet output stream, so this is a buffered copy (the JDK moves at most
+    // a few KB per call), not sendfile; it only keeps the file content off the heap
+    private void transferFile(FileChannel channel, long offset, long count, OutputStream outputStream)
+            throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long position = offset;
+        long end = offset + count;
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new EOFException("Cached blob content file is truncated");
+            }
+            position += transferred;
+        }
+    }
+
+    private String key(String containerName, String blobName, String etag) {
+        return containerName + "/" + blobName + "@" + etag;
+    }
+
+    private long fileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached blob content file: {}", path, e);
+        }
+    }
+}
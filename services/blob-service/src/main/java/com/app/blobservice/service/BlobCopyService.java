@@ -0,0 +1,230 @@
+package com.app.blobservice.service;
+
+import com.app.blobservice.model.CopyStatus;
+import com.app.blobservice.model.PendingCopy;
+import com.azure.core.util.polling.LongRunningOperationStatus;
+import com.azure.core.util.polling.PollResponse;
+import com.azure.core.util.polling.SyncPoller;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobBeginCopySourceRequestConditions;
+import com.azure.storage.blob.models.BlobCopyInfo;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.CopyStatusType;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.options.BlobBeginCopyOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Copies and moves run entirely inside Azure: the service only starts the copy and polls it,
+// so no blob content passes through this process whatever its size. Copies still pending when
+// the request returns are recorded in Redis and finished by whichever replica checks next, so a
+// move still deletes its source after a restart or redeploy.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobCopyService {
+
+    private static final String PENDING_KEY = "blob:copies:pending";
+    private static final String CHECK_LOCK_KEY = "blob:copies:check-lock";
+
+    private final BlobServiceClient blobServiceClient;
+    private final BlobStorageService blobStorageService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${blob.copy.poll-interval:2s}")
+    private Duration pollInterval;
+
+    @Value("${blob.copy.timeout:24h}")
+    private Duration timeout;
+
+    @Value("${blob.copy.check-interval-ms:5000}")
+    private long checkIntervalMillis;
+
+    public CopyStatus copy(String sourceContainer, String sourceBlob, String targetContainer, String targetBlob,
+                           boolean move) {
+        if (targetContainer == null || targetContainer.isBlank()) {
+            throw new IllegalArgumentException("targetContainer must not be empty");
+        }
+        String target = targetBlob == null || targetBlob.isBlank() ? sourceBlob : targetBlob;
+        if (sourceContainer.equals(targetContainer) && sourceBlob.equals(target)) {
+            throw new IllegalArgumentException("Source and target must differ");
+        }
+
+        BlobClient sourceClient = blobServiceClient.getBlobContainerClient(sourceContainer).getBlobClient(sourceBlob);
+        BlobProperties sourceProperties = sourceClient.getProperties();
+
+        blobServiceClient.getBlobContainerClient(targetContainer).createIfNotExists();
+        BlobClient targetClient = blobServiceClient.getBlobContainerClient(targetContainer).getBlobClient(target);
+
+        // Pinned to the ETag read above so a move never deletes a source that changed mid-copy
+        SyncPoller<BlobCopyInfo, Void> poller = targetClient.beginCopy(
+                new BlobBeginCopyOptions(sourceClient.getBlobUrl())
+                        .setSourceRequestConditions(new BlobBeginCopySourceRequestConditions()
+                                .setIfMatch(sourceProperties.getETag()))
+                        .setPollInterval(pollInterval));
+        PollResponse<BlobCopyInfo> started = poller.poll();
+
+        PendingCopy pending = PendingCopy.builder()
+                .copyId(started.getValue().getCopyId())
+                .sourceContainer(sourceContainer)
+                .sourceBlob(sourceBlob)
+                .sourceEtag(sourceProperties.getETag())
+                .targetContainer(targetContainer)
+                .targetBlob(target)
+                .move(move)
+                .startedAt(OffsetDateTime.now())
+                .build();
+
+        blobStorageService.invalidateCaches(targetContainer, List.of(target));
+        log.info("Started {} {}/{} -> {}/{} (copy {})", move ? "move" : "copy",
+                sourceContainer, sourceBlob, targetContainer, target, pending.getCopyId());
+
+        if (started.getStatus().isComplete()) {
+            complete(pending, started.getStatus() == LongRunningOperationStatus.SUCCESSFULLY_COMPLETED,
+                    String.valueOf(started.getStatus()));
+        } else {
+            redisTemplate.opsForHash().put(PENDING_KEY, pendingField(targetContainer, target), pending);
+        }
+
+        return toCopyStatus(targetContainer, target, started.getValue());
+    }
+
+    public CopyStatus getStatus(String containerName, String blobName) {
+        BlobProperties properties = blobServiceClient
+                .getBlobContainerClient(containerName)
+                .getBlobClient(blobName)
+                .getProperties();
+        if (properties.getCopyId() == null) {
+            throw new IllegalArgumentException("Blob was not created by a copy: " + containerName + "/" + blobName);
+        }
+
+        return CopyStatus.builder()
+                .copyId(properties.getCopyId())
+                .containerName(containerName)
+                .blobName(blobName)
+                .source(properties.getCopySource())
+                .status(properties.getCopyStatus() != null ? properties.getCopyStatus().toString() : null)
+                .progress(properties.getCopyProgress())
+                .statusDescription(properties.getCopyStatusDescription())
+                .build();
+    }
+
+    // Runs on every replica; the lock lets one of them check all pending copies per interval
+    @Scheduled(fixedDelayString = "${blob.copy.check-interval-ms:5000}")
+    public void checkPendingCopies() {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(CHECK_LOCK_KEY, "1", Duration.ofMillis(checkIntervalMillis)))) {
+            return;
+        }
+
+        Map<Object, Object> pending = redisTemplate.opsForHash().entries(PENDING_KEY);
+        pending.forEach((field, value) -> {
+            try {
+                checkPendingCopy(field.toString(), objectMapper.convertValue(value, PendingCopy.class));
+            } catch (RuntimeException e) {
+                // Left in place and retried on the next check
+                log.warn("Checking pending copy {} failed", field, e);
+            }
+        });
+    }
+
+    private void checkPendingCopy(String field, PendingCopy pending) {
+        BlobProperties properties;
+        try {
+            properties = blobServiceClient
+                    .getBlobContainerClient(pending.getTargetContainer())
+                    .getBlobClient(pending.getTargetBlob())
+                    .getProperties();
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() != 404) {
+                throw e;
+            }
+            log.warn("Copy target {} was deleted before the copy finished", field);
+            redisTemplate.opsForHash().delete(PENDING_KEY, field);
+            return;
+        }
+
+        if (!pending.getCopyId().equals(properties.getCopyId())) {
+            log.warn("Copy target {} was overwritten before copy {} finished", field, pending.getCopyId());
+            redisTemplate.opsForHash().delete(PENDING_KEY, field);
+            return;
+        }
+
+        CopyStatusType status = properties.getCopyStatus();
+        if (status == CopyStatusType.PENDING) {
+            if (pending.getStartedAt().plus(timeout).isBefore(OffsetDateTime.now())) {
+                log.error("Copy {} to {} still pending after {}, no longer tracking it", pending.getCopyId(), field,
+                        timeout);
+                redisTemplate.opsForHash().delete(PENDING_KEY, field);
+            }
+            return;
+        }
+
+        complete(pending, status == CopyStatusType.SUCCESS, String.valueOf(status));
+        redisTemplate.opsForHash().delete(PENDING_KEY, field);
+    }
+
+    private void complete(PendingCopy pending, boolean succeeded, String status) {
+        // Metadata may have been cached while the copy was still pending
+        blobStorageService.invalidateCaches(pending.getTargetContainer(), List.of(pending.getTargetBlob()));
+
+        if (!succeeded) {
+            log.warn("Copy to {}/{} finished with status {}", pending.getTargetContainer(), pending.getTargetBlob(),
+                    status);
+            return;
+        }
+        if (pending.isMove()) {
+            BlobClient sourceClient = blobServiceClient
+                    .getBlobContainerClient(pending.getSourceContainer())
+                    .getBlobClient(pending.getSourceBlob());
+            try {
+                sourceClient.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE,
+                        new BlobRequestConditions().setIfMatch(pending.getSourceEtag()), null, null);
+            } catch (BlobStorageException e) {
+                // 404: another replica already finished this move
+                if (e.getStatusCode() == 404) {
+                    return;
+                }
+                if (e.getStatusCode() != 412) {
+                    throw e;
+                }
+                log.warn("Source {}/{} changed during move, keeping it", pending.getSourceContainer(),
+                        pending.getSourceBlob());
+                return;
+            }
+            blobStorageService.invalidateCaches(pending.getSourceContainer(), List.of(pending.getSourceBlob()));
+            log.info("Moved blob {}/{} -> {}/{}", pending.getSourceContainer(), pending.getSourceBlob(),
+                    pending.getTargetContainer(), pending.getTargetBlob());
+        }
+    }
+
+    private String pendingField(String containerName, String blobName) {
+        return containerName + "/" + blobName;
+    }
+
+    private CopyStatus toCopyStatus(String containerName, String blobName, BlobCopyInfo info) {
+        CopyStatusType status = info.getCopyStatus();
+        return CopyStatus.builder()
+                .copyId(info.getCopyId())
+                .containerName(containerName)
+                .blobName(blobName)
+                .source(info.getCopySourceUrl())
+                .status(status != null ? status.toString() : null)
+                .statusDescription(info.getError())
+                .build();
+    }
+}
@@ -1,22 +1,39 @@
 package com.app.blobservice.service;
 
+import com.app.blobservice.model.BlobDownload;
 import com.app.blobservice.model.BlobMetadata;
+import com.app.blobservice.model.BlobPage;
 import com.app.blobservice.model.UploadResponse;
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,10 +42,17 @@ import java.util.stream.Collectors;
 public class BlobStorageService {
 
     private final BlobServiceClient blobServiceClient;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final BlobCache blobCache;
+    private final BlobContentCache blobContentCache;
+    private final BlockBlobUploader blockBlobUploader;
+    private final ObjectMapper objectMapper;
 
     private static final String CACHE_PREFIX = "blob:";
     private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+    private static final int STREAM_PAGE_SIZE = 5000;
+
+    @Value("${blob.download.chunk-size:1MB}")
+    private DataSize downloadChunkSize;
 
     public List<String> listContainers() {
         return blobServiceClient.listBlobContainers().stream()
@@ -36,62 +60,131 @@ public class BlobStorageService {
                 .collect(Collectors.toList());
     }
 
-    public List<BlobMetadata> listBlobs(String containerName) {
-        String cacheKey = CACHE_PREFIX + "list:" + containerName;
+    public BlobPage listBlobs(String containerName, String prefix, String delimiter, int pageSize,
+                              String continuationToken) {
+        // Each page is a field of one per-container hash, so an upload or delete drops them all at once
+        String cacheKey = listCacheKey(containerName);
+        String pageField = pageField(prefix, delimiter, String.valueOf(pageSize), continuationToken);
 
-        @SuppressWarnings("unchecked")
-        List<BlobMetadata> cached = (List<BlobMetadata>) redisTemplate.opsForValue().get(cacheKey);
+        BlobPage cached = blobCache.getField(cacheKey, pageField, BlobPage.class);
         if (cached != null) {
-            log.debug("Cache hit for blob list: {}", containerName);
+            log.debug("Cache hit for blob list page: {} [{}]", containerName, pageField);
             return cached;
         }
 
-        BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
-        List<BlobMetadata> blobs = containerClient.listBlobs().stream()
-                .map(item -> toBlobMetadata(containerName, item))
-                .collect(Collectors.toList());
+        PagedResponse<BlobItem> response = listBlobItems(containerName, prefix, delimiter, pageSize)
+                .iterableByPage(continuationToken, pageSize)
+                .iterator()
+                .next();
+
+        BlobPage page = BlobPage.builder()
+                .items(response.getValue().stream()
+                        .filter(item -> !Boolean.TRUE.equals(item.isPrefix()))
+                        .map(item -> toBlobMetadata(containerName, item))
+                        .collect(Collectors.toList()))
+                .prefixes(response.getValue().stream()
+                        .filter(item -> Boolean.TRUE.equals(item.isPrefix()))
+                        .map(BlobItem::getName)
+                        .collect(Collectors.toList()))
+                .continuationToken(response.getContinuationToken())
+                .build();
+
+        blobCache.putField(cacheKey, pageField, page, CACHE_TTL);
+        return page;
+    }
+
+    public void streamBlobs(String containerName, String prefix, OutputStream outputStream) throws IOException {
+        PagedIterable<BlobItem> items = listBlobItems(containerName, prefix, null, STREAM_PAGE_SIZE);
+        for (PagedResponse<BlobItem> page : items.iterableByPage(STREAM_PAGE_SIZE)) {
+            for (BlobItem item : page.getValue()) {
+                outputStream.write(objectMapper.writeValueAsBytes(toBlobMetadata(containerName, item)));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        }
+    }
 
-        redisTemplate.opsForValue().set(cacheKey, blobs, CACHE_TTL);
-        return blobs;
+    public BlobMetadata getCachedBlobMetadata(String containerName, String blobName) {
+        return blobCache.get(metadataCacheKey(containerName, blobName), BlobMetadata.class);
     }
 
     public BlobMetadata getBlobMetadata(String containerName, String blobName) {
+        BlobMetadata cached = getCachedBlobMetadata(containerName, blobName);
+        if (cached != null) {
+            log.debug("Cache hit for blob metadata: {}/{}", containerName, blobName);
+            return cached;
+        }
+
         BlobClient blobClient = blobServiceClient
                 .getBlobContainerClient(containerName)
                 .getBlobClient(blobName);
 
-        BlobProperties properties = blobClient.getProperties();
-        return BlobMetadata.builder()
-                .name(blobName)
-                .containerName(containerName)
-                .contentLength(properties.getBlobSize())
-                .contentType(properties.getContentType())
-                .lastModified(properties.getLastModified())
-                .metadata(properties.getMetadata())
-                .build();
+        BlobMetadata metadata = toBlobMetadata(containerName, blobName, blobClient.getProperties());
+        blobCache.put(metadataCacheKey(containerName, blobName), metadata, CACHE_TTL);
+        return metadata;
+    }
+
+    public void evictBlobMetadata(String containerName, String blobName) {
+        blobCache.evict(List.of(metadataCacheKey(containerName, blobName)));
     }
 
-    public byte[] downloadBlob(String containerName, String blobName) {
+    public BlobDownload openDownload(String containerName, String blobName, long offset, Long count,
+                                     BlobMetadata known) throws IOException {
+        if (known != null && blobContentCache.accepts(known.getContentLength())) {
+            long length = count != null ? count : known.getContentLength() - offset;
+            Optional<BlobDownload.Body> cached = blobContentCache.get(
+                    containerName, blobName, known.getEtag(), offset, length);
+            if (cached.isPresent()) {
+                log.debug("Content cache hit for blob: {}/{}", containerName, blobName);
+                return new BlobDownload(known, offset, length, cached.get());
+            }
+        }
+
         BlobClient blobClient = blobServiceClient
                 .getBlobContainerClient(containerName)
                 .getBlobClient(blobName);
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        blobClient.downloadStream(outputStream);
-        return outputStream.toByteArray();
+        // The first chunk's response carries the blob properties, so headers and content cost one call
+        long chunkSize = downloadChunkSize.toBytes();
+        BlobInputStreamOptions options = new BlobInputStreamOptions()
+                .setRange(new BlobRange(offset, count))
+                .setBlockSize((int) (count != null && count > 0 ? Math.min(chunkSize, count) : chunkSize));
+        if (known != null) {
+            options.setRequestConditions(new BlobRequestConditions().setIfMatch(known.getEtag()));
+        }
+
+        BlobInputStream inputStream = blobClient.openInputStream(options);
+        BlobMetadata metadata = toBlobMetadata(containerName, blobName, inputStream.getProperties());
+        blobCache.put(metadataCacheKey(containerName, blobName), metadata, CACHE_TTL);
+
+        long length = count != null ? count : metadata.getContentLength() - offset;
+        if (offset == 0 && length == metadata.getContentLength() && blobContentCache.accepts(length)) {
+            byte[] content;
+            try (inputStream) {
+                content = inputStream.readAllBytes();
+            }
+            blobContentCache.put(containerName, blobName, metadata.getEtag(), content);
+            return new BlobDownload(metadata, offset, length, BlobDownload.Body.of(content, 0, content.length));
+        }
+        return new BlobDownload(metadata, offset, length, BlobDownload.Body.of(inputStream));
     }
 
     public UploadResponse uploadBlob(String containerName, MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return uploadBlob(containerName, file.getOriginalFilename(), inputStream, file.getContentType());
+        }
+    }
+
+    public UploadResponse uploadBlob(String containerName, String blobName, InputStream inputStream,
+                                     String contentType) throws IOException {
         BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
         containerClient.createIfNotExists();
 
-        String blobName = file.getOriginalFilename();
         BlobClient blobClient = containerClient.getBlobClient(blobName);
-
-        blobClient.upload(file.getInputStream(), file.getSize(), true);
+        long contentLength = blockBlobUploader.upload(blobClient.getBlockBlobClient(), inputStream, contentType);
 
         // Invalidate cache
-        redisTemplate.delete(CACHE_PREFIX + "list:" + containerName);
+        invalidateCaches(containerName, blobName);
 
         log.info("Uploaded blob: {}/{}", containerName, blobName);
 
@@ -99,7 +192,7 @@ public class BlobStorageService {
                 .blobName(blobName)
                 .containerName(containerName)
                 .url(blobClient.getBlobUrl())
-                .contentLength(file.getSize())
+                .contentLength(contentLength)
                 .build();
     }
 
@@ -111,11 +204,86 @@ public class BlobStorageService {
         blobClient.delete();
 
         // Invalidate cache
-        redisTemplate.delete(CACHE_PREFIX + "list:" + containerName);
+        invalidateCaches(containerName, blobName);
 
         log.info("Deleted blob: {}/{}", containerName, blobName);
     }
 
+    public UploadResponse commitBlocks(String containerName, String blobName, List<String> blockIds,
+                                       String contentType, long contentLength) {
+        BlobClient blobClient = blobServiceClient
+                .getBlobContainerClient(containerName)
+                .getBlobClient(blobName);
+
+        blockBlobUploader.commit(blobClient.getBlockBlobClient(), blockIds, contentType);
+
+        // Invalidate cache
+        invalidateCaches(containerName, blobName);
+
+        log.info("Committed {} blocks to blob: {}/{}", blockIds.size(), containerName, blobName);
+
+        return UploadResponse.builder()
+                .blobName(blobName)
+                .containerName(containerName)
+                .url(blobClient.getBlobUrl())
+                .contentLength(contentLength)
+                .build();
+    }
+
+    private PagedIterable<BlobItem> listBlobItems(String containerName, String prefix, String delimiter,
+                                                  int pageSize) {
+        BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
+        ListBlobsOptions options = new ListBlobsOptions()
+                .setPrefix(prefix)
+                .setMaxResultsPerPage(pageSize);
+        return delimiter != null
+                ? containerClient.listBlobsByHierarchy(delimiter, options, null)
+                : containerClient.listBlobs(options, null);
+    }
+
+    // One Redis DEL and one invalidation broadcast for the container, however many blobs changed
+    public void invalidateCaches(String containerName, Collection<String> blobNames) {
+        blobContentCache.evict(containerName, blobNames);
+
+        List<String> keys = new ArrayList<>();
+        keys.add(listCacheKey(containerName));
+        blobNames.forEach(blobName -> keys.add(metadataCacheKey(containerName, blobName)));
+        blobCache.evict(keys);
+    }
+
+    private void invalidateCaches(String containerName, String blobName) {
+        invalidateCaches(containerName, List.of(blobName));
+    }
+
+    // Each part is length-prefixed ("3:foo"), so a '|' inside a prefix or token cannot make two
+    // different requests share a field
+    private static String pageField(String... parts) {
+        return Arrays.stream(parts)
+                .map(part -> Objects.toString(part, ""))
+                .map(part -> part.length() + ":" + part)
+                .collect(Collectors.joining("|"));
+    }
+
+    private String listCacheKey(String containerName) {
+        return CACHE_PREFIX + "list:page:" + containerName;
+    }
+
+    private String metadataCacheKey(String containerName, String blobName) {
+        return CACHE_PREFIX + "meta:" + containerName + "/" + blobName;
+    }
+
+    private BlobMetadata toBlobMetadata(String containerName, String blobName, BlobProperties properties) {
+        return BlobMetadata.builder()
+                .name(blobName)
+                .containerName(containerName)
+                .contentLength(properties.getBlobSize())
+                .contentType(properties.getContentType())
+                .etag(properties.getETag())
+                .lastModified(properties.getLastModified())
+                .metadata(properties.getMetadata())
+                .build();
+    }
+
     private BlobMetadata toBlobMetadata(String containerName, BlobItem item) {
         return BlobMetadata.builder()
                 .name(item.getName())
@@ -0,0 +1,161 @@
+package com.app.blobservice.service;
+
+import com.azure.core.util.BinaryData;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.options.BlockBlobCommitBlockListOptions;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class BlockBlobUploader {
+
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+    // Azure rejects a block list longer than this at commit time
+    public static final int MAX_BLOCKS = 50_000;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${blob.upload.block-size:4MB}")
+    private DataSize blockSize;
+
+    @Value("${blob.upload.parallelism:4}")
+    private int parallelism;
+
+    @Value("${blob.upload.block-attempts:3}")
+    private int blockAttempts;
+
+    // Reads the stream block by block and stages up to `parallelism` blocks concurrently, so at most
+    // parallelism + 1 blocks are held in memory regardless of the upload size
+    public long upload(BlockBlobClient blockBlobClient, InputStream inputStream, String contentType) throws IOException {
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<String> blockIds = new ArrayList<>();
+        List<CompletableFuture<Void>> stagings = new ArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        long total = 0;
+
+        try {
+            while (true) {
+                inFlight.acquire();
+                byte[] block = inputStream.readNBytes((int) blockSize.toBytes());
+                if (block.length == 0) {
+                    inFlight.release();
+                    break;
+                }
+
+                if (blockIds.size() == MAX_BLOCKS) {
+                    inFlight.release();
+                    throw new IllegalArgumentException("Upload exceeds the " + MAX_BLOCKS + "-block limit ("
+                            + MAX_BLOCKS * blockSize.toBytes() + " bytes at the configured block size)");
+                }
+
+                String blockId = blockId(uploadId, blockIds.size());
+                blockIds.add(blockId);
+                total += block.length;
+                stagings.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        stageBlock(blockBlobClient, blockId, block);
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }, executor));
+
+                // Stop reading early once any block has failed for good
+                if (failed.get()) {
+                    break;
+                }
+            }
+            CompletableFuture.allOf(stagings.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Block upload was interrupted", e);
+        } catch (CompletionException e) {
+            throw new IOException("Block upload failed: " + blockBlobClient.getBlobName(), e.getCause());
+        }
+
+        commit(blockBlobClient, blockIds, contentType);
+
+        log.debug("Committed {} blocks ({} bytes) to {}", blockIds.size(), total, blockBlobClient.getBlobName());
+        return total;
+    }
+
+    public void commit(BlockBlobClient blockBlobClient, List<String> blockIds, String contentType) {
+        blockBlobClient.commitBlockListWithResponse(
+                new BlockBlobCommitBlockListOptions(blockIds)
+                        .setHeaders(new BlobHttpHeaders().setContentType(contentType)),
+                null, null);
+    }
+
+    public void stageBlock(BlockBlobClient blockBlobClient, String blockId, byte[] data) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                blockBlobClient.stageBlock(blockId, BinaryData.fromBytes(data));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= blockAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                log.warn("Staging block {} of {} failed (attempt {}/{}), retrying",
+                        blockId, blockBlobClient.getBlobName(), attempt, blockAttempts, e);
+                sleepBeforeRetry(attempt);
+            }
+        }
+    }
+
+    // Stages a block straight from a request body. The stream can only be read once, so there is
+    // no retry here; a client re-sending the same block ID replaces it.
+    public void stageBlock(BlockBlobClient blockBlobClient, String blockId, InputStream data, long length) {
+        blockBlobClient.stageBlock(blockId, data, length);
+    }
+
+    // Block IDs must all have the same length within a blob, so the index is zero-padded
+    public static String blockId(String uploadId, int index) {
+        String raw = uploadId + "-" + String.format("%06d", index);
+        return Base64.getEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean isRetryable(RuntimeException e) {
+        if (e instanceof BlobStorageException storageException) {
+            int status = storageException.getStatusCode();
+            return status == 408 || status == 429 || status >= 500;
+        }
+        return true;
+    }
+
+    private void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying block upload", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,175 @@
+package com.app.blobservice.service;
+
+import com.app.blobservice.exception.UploadSessionNotFoundException;
+import com.app.blobservice.model.UploadResponse;
+import com.app.blobservice.model.UploadSession;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    private final BlobServiceClient blobServiceClient;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final BlockBlobUploader blockBlobUploader;
+    private final BlobStorageService blobStorageService;
+
+    private static final String CACHE_PREFIX = "blob:upload:";
+    private static final String CHUNK_FIELD_PREFIX = "chunk:";
+    private static final int MAX_CHUNKS = BlockBlobUploader.MAX_BLOCKS;
+
+    @Value("${blob.upload.session-ttl:24h}")
+    private Duration sessionTtl;
+
+    @Value("${blob.upload.max-chunk-size:100MB}")
+    private DataSize maxChunkSize;
+
+    public UploadSession startSession(String containerName, String blobName, String contentType) {
+        blobServiceClient.getBlobContainerClient(containerName).createIfNotExists();
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        OffsetDateTime createdAt = OffsetDateTime.now();
+
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("containerName", containerName);
+        fields.put("blobName", blobName);
+        fields.put("createdAt", createdAt.toString());
+        if (contentType != null) {
+            fields.put("contentType", contentType);
+        }
+
+        String cacheKey = CACHE_PREFIX + uploadId;
+        redisTemplate.opsForHash().putAll(cacheKey, fields);
+        redisTemplate.expire(cacheKey, sessionTtl);
+
+        log.info("Started upload session {} for blob: {}/{}", uploadId, containerName, blobName);
+
+        return UploadSession.builder()
+                .uploadId(uploadId)
+                .containerName(containerName)
+                .blobName(blobName)
+                .contentType(contentType)
+                .createdAt(createdAt)
+                .chunks(new TreeMap<>())
+                .receivedBytes(0L)
+                .build();
+    }
+
+    public UploadSession getSession(String containerName, String blobName, String uploadId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(CACHE_PREFIX + uploadId);
+        if (!containerName.equals(fields.get("containerName")) || !blobName.equals(fields.get("blobName"))) {
+            // Unknown, expired, or started for a different blob
+            throw new UploadSessionNotFoundException(uploadId);
+        }
+
+        SortedMap<Integer, Long> chunks = new TreeMap<>();
+        fields.forEach((field, value) -> {
+            String name = field.toString();
+            if (name.startsWith(CHUNK_FIELD_PREFIX)) {
+                chunks.put(Integer.parseInt(name.substring(CHUNK_FIELD_PREFIX.length())),
+                        ((Number) value).longValue());
+            }
+        });
+
+        return UploadSession.builder()
+                .uploadId(uploadId)
+                .containerName(containerName)
+                .blobName(blobName)
+                .contentType((String) fields.get("contentType"))
+                .createdAt(OffsetDateTime.parse(fields.get("createdAt").toString()))
+                .chunks(chunks)
+                .receivedBytes(chunks.values().stream().mapToLong(Long::longValue).sum())
+                .build();
+    }
+
+    // The chunk is streamed to Azure as it arrives, so its size comes from Content-Length and is
+    // checked before any of it is read
+    public UploadSession uploadChunk(String containerName, String blobName, String uploadId, int index,
+                                     InputStream inputStream, long contentLength) {
+        if (index < 0 || index >= MAX_CHUNKS) {
+            throw new IllegalArgumentException("Chunk index must be between 0 and " + (MAX_CHUNKS - 1));
+        }
+        if (contentLength < 0) {
+            throw new IllegalArgumentException("Chunk " + index + " needs a Content-Length");
+        }
+        if (contentLength == 0) {
+            throw new IllegalArgumentException("Chunk " + index + " is empty");
+        }
+        if (contentLength > maxChunkSize.toBytes()) {
+            throw new IllegalArgumentException("Chunk " + index + " exceeds the maximum size of " + maxChunkSize);
+        }
+        UploadSession session = getSession(containerName, blobName, uploadId);
+
+        // Chunks may arrive in any order and from any replica; re-sending an index replaces the block
+        BlockBlobClient blockBlobClient = blobServiceClient
+                .getBlobContainerClient(containerName)
+                .getBlobClient(blobName)
+                .getBlockBlobClient();
+        blockBlobUploader.stageBlock(blockBlobClient, BlockBlobUploader.blockId(uploadId, index), inputStream,
+                contentLength);
+
+        String cacheKey = CACHE_PREFIX + uploadId;
+        redisTemplate.opsForHash().put(cacheKey, CHUNK_FIELD_PREFIX + index, contentLength);
+        redisTemplate.expire(cacheKey, sessionTtl);
+
+        Long previous = session.getChunks().put(index, contentLength);
+        session.setReceivedBytes(session.getReceivedBytes() - (previous != null ? previous : 0) + contentLength);
+        return session;
+    }
+
+    public UploadResponse commit(String containerName, String blobName, String uploadId, Integer expectedChunks) {
+        UploadSession session = getSession(containerName, blobName, uploadId);
+        SortedMap<Integer, Long> chunks = session.getChunks();
+
+        if (chunks.isEmpty()) {
+            throw new IllegalArgumentException("Upload session has no chunks: " + uploadId);
+        }
+        if (expectedChunks != null && expectedChunks != chunks.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + expectedChunks + " chunks but received " + chunks.size());
+        }
+        if (chunks.lastKey() != chunks.size() - 1) {
+            List<Integer> missing = IntStream.range(0, chunks.lastKey())
+                    .filter(i -> !chunks.containsKey(i))
+                    .boxed()
+                    .toList();
+            throw new IllegalArgumentException("Missing chunks: " + missing);
+        }
+
+        List<String> blockIds = chunks.keySet().stream()
+                .map(index -> BlockBlobUploader.blockId(uploadId, index))
+                .toList();
+        UploadResponse response = blobStorageService.commitBlocks(
+                containerName, blobName, blockIds, session.getContentType(), session.getReceivedBytes());
+
+        redisTemplate.delete(CACHE_PREFIX + uploadId);
+        return response;
+    }
+
+    public void abort(String containerName, String blobName, String uploadId) {
+        getSession(containerName, blobName, uploadId);
+
+        // Uncommitted blocks are garbage-collected by Azure, so dropping the session is enough
+        redisTemplate.delete(CACHE_PREFIX + uploadId);
+        log.info("Aborted upload session {} for blob: {}/{}", uploadId, containerName, blobName);
+    }
+}
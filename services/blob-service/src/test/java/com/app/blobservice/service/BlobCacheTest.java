@@ -0,0 +1,90 @@
+package com.app.blobservice.service;
+
+import com.app.blobservice.config.JacksonConfig;
+import com.app.blobservice.model.BlobMetadata;
+import com.app.blobservice.model.BlobPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlobCacheTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    // Same value serializer as RedisConfig
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+
+    private final BlobMetadata metadata = BlobMetadata.builder()
+            .name("report.csv")
+            .containerName("reports")
+            .contentLength(1024L)
+            .contentType("text/csv")
+            .etag("\"0x8D\"")
+            .lastModified(OffsetDateTime.of(2026, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC))
+            .metadata(Map.of("owner", "reports-service"))
+            .build();
+
+    private BlobCache newCache() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        return new BlobCache(redisTemplate, mock(RedisMessageListenerContainer.class), objectMapper,
+                new SimpleMeterRegistry(), 100, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void redisHitIsConvertedToTheRequestedType() {
+        Object fromRedis = serializer.deserialize(serializer.serialize(metadata));
+        assertThat(fromRedis).isInstanceOf(Map.class);
+        when(valueOperations.get("blob:meta:reports/report.csv")).thenReturn(fromRedis);
+
+        BlobCache cache = newCache();
+
+        assertThat(cache.get("blob:meta:reports/report.csv", BlobMetadata.class)).isEqualTo(metadata);
+        // Served from the local tier the second time, still typed
+        assertThat(cache.get("blob:meta:reports/report.csv", BlobMetadata.class)).isEqualTo(metadata);
+        verify(valueOperations, times(1)).get("blob:meta:reports/report.csv");
+    }
+
+    @Test
+    void redisFieldHitIsConvertedToTheRequestedType() {
+        BlobPage page = BlobPage.builder()
+                .items(List.of(metadata))
+                .prefixes(List.of("archive/"))
+                .continuationToken("next")
+                .build();
+        when(hashOperations.get("blob:list:page:reports", "0:|0:|3:100|0:"))
+                .thenReturn(serializer.deserialize(serializer.serialize(page)));
+
+        BlobCache cache = newCache();
+
+        assertThat(cache.getField("blob:list:page:reports", "0:|0:|3:100|0:", BlobPage.class)).isEqualTo(page);
+    }
+
+    @Test
+    void missReturnsNull() {
+        assertThat(newCache().get("blob:meta:reports/missing.csv", BlobMetadata.class)).isNull();
+    }
+}
@@ -1,13 +1,28 @@
 package com.app.dataservice.controller;
 
+import com.app.dataservice.model.AggregationBucket;
+import com.app.dataservice.model.CursorPage;
 import com.app.dataservice.model.DataEntity;
+import com.app.dataservice.model.SearchResult;
+import com.app.dataservice.service.DataAggregationService;
+import com.app.dataservice.service.DataExportService;
 import com.app.dataservice.service.DataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/data")
@@ -15,6 +30,8 @@ import org.springframework.web.bind.annotation.*;
 public class DataController {
 
     private final DataService dataService;
+    private final DataExportService dataExportService;
+    private final DataAggregationService dataAggregationService;
 
     @GetMapping
     public ResponseEntity<Page<DataEntity>> listData(
@@ -22,6 +39,56 @@ public class DataController {
         return ResponseEntity.ok(dataService.listData(pageable));
     }
 
+    // ids and cursor take precedence over count=false, so each query string maps to one handler
+    @GetMapping(params = {"count=false", "!ids", "!cursor"})
+    public ResponseEntity<Slice<DataEntity>> listDataSlice(
+            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        return ResponseEntity.ok(dataService.listDataSlice(pageable));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<DataEntity>> getByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(dataService.getByIds(ids));
+    }
+
+    @GetMapping(params = {"cursor", "!ids"})
+    public ResponseEntity<CursorPage<DataEntity>> listDataAfter(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(dataService.listDataAfter(cursor, size, category));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String category) {
+        DataExportService.Format exportFormat = switch (format.toLowerCase()) {
+            case "ndjson" -> DataExportService.Format.NDJSON;
+            case "csv" -> DataExportService.Format.CSV;
+            default -> throw new IllegalArgumentException("format must be ndjson or csv");
+        };
+        MediaType contentType = exportFormat == DataExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = out -> dataExportService.export(category, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"data-export." + format.toLowerCase() + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<Slice<DataEntity>> filterByMetadata(
+            @RequestParam Map<String, String> params,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String contains,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(dataService.filterByMetadata(params, category, contains, pageable));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DataEntity> getById(@PathVariable Long id) {
         return ResponseEntity.ok(dataService.getById(id));
@@ -32,6 +99,22 @@ public class DataController {
         return ResponseEntity.ok(dataService.create(entity));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<DataEntity>> createAll(@RequestBody List<DataEntity> entities) {
+        return ResponseEntity.ok(dataService.createAll(entities));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<List<DataEntity>> updateAll(@RequestBody List<DataEntity> entities) {
+        return ResponseEntity.ok(dataService.updateAll(entities));
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseEntity<Void> deleteAll(@RequestBody List<Long> ids) {
+        dataService.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<DataEntity> update(@PathVariable Long id, @RequestBody DataEntity entity) {
         return ResponseEntity.ok(dataService.update(id, entity));
@@ -49,4 +132,32 @@ public class DataController {
             @PageableDefault(size = 20) Pageable pageable) {
         return ResponseEntity.ok(dataService.search(query, pageable));
     }
+
+    @GetMapping(value = "/search", params = "facets=true")
+    public ResponseEntity<SearchResult> searchWithFacets(
+            @RequestParam("q") String query,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(dataService.searchWithFacets(query, pageable));
+    }
+
+    @GetMapping("/aggregations/categories")
+    public ResponseEntity<List<AggregationBucket>> countByCategory() {
+        return ResponseEntity.ok(dataAggregationService.countByCategory());
+    }
+
+    @GetMapping("/aggregations/created")
+    public ResponseEntity<List<AggregationBucket>> countByCreatedAt(
+            @RequestParam(defaultValue = "day") String interval,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        return ResponseEntity.ok(dataAggregationService.countByCreatedAt(interval, from, to));
+    }
+
+    // facets=true keeps its counted page even when count=false is also sent
+    @GetMapping(value = "/search", params = {"count=false", "facets!=true"})
+    public ResponseEntity<Slice<DataEntity>> searchSlice(
+            @RequestParam("q") String query,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(dataService.searchSlice(query, pageable));
+    }
 }
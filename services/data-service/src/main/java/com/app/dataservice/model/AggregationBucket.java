@@ -0,0 +1,15 @@
+package com.app.dataservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregationBucket {
+    private String key;
+    private long count;
+}
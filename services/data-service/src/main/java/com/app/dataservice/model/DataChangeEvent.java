@@ -0,0 +1,20 @@
+package com.app.dataservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataChangeEvent {
+    private Long id;
+    private Long entityId;
+    private String operation;
+    private Long version;
+    private OffsetDateTime changedAt;
+}
@@ -21,7 +21,9 @@ import java.util.Map;
 public class DataEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence with a pooled allocation of 50 so Hibernate can batch inserts (IDENTITY cannot)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "data_entity_seq")
+    @SequenceGenerator(name = "data_entity_seq", sequenceName = "data_entity_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -36,6 +38,9 @@ public class DataEntity implements Serializable {
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> metadata;
 
+    @Version
+    private Long version;
+
     @Column(name = "created_at", updatable = false)
     @Builder.Default
     private OffsetDateTime createdAt = OffsetDateTime.now();
@@ -0,0 +1,20 @@
+package com.app.dataservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetadataFilter {
+    private List<String> path;
+    private Operator operator;
+    private String value;
+
+    public enum Operator { EQ, GT, GTE, LT, LTE }
+}
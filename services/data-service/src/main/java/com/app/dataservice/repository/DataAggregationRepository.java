@@ -0,0 +1,60 @@
+package com.app.dataservice.repository;
+
+import com.app.dataservice.model.AggregationBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class DataAggregationRepository {
+
+    private static final int MAX_BUCKETS = 10_000;
+
+    private static final RowMapper<AggregationBucket> CATEGORY_BUCKET = (rs, rowNum) -> AggregationBucket.builder()
+            .key(rs.getString("category"))
+            .count(rs.getLong("count"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<AggregationBucket> countByCategory() {
+        return jdbcTemplate.query("SELECT category, COUNT(*) AS count FROM data_entity " +
+                "GROUP BY category ORDER BY count DESC, category", CATEGORY_BUCKET);
+    }
+
+    // Buckets are truncated in UTC so their boundaries do not depend on the session time zone
+    public List<AggregationBucket> countByCreatedAt(String interval, OffsetDateTime from, OffsetDateTime to) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT date_trunc(?, created_at, 'UTC') AS bucket, COUNT(*) AS count FROM data_entity WHERE TRUE");
+        List<Object> params = new ArrayList<>();
+        params.add(interval);
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            params.add(to);
+        }
+        sql.append(" GROUP BY bucket ORDER BY bucket LIMIT ").append(MAX_BUCKETS);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> AggregationBucket.builder()
+                .key(rs.getObject("bucket", OffsetDateTime.class).withOffsetSameInstant(ZoneOffset.UTC).toString())
+                .count(rs.getLong("count"))
+                .build(), params.toArray());
+    }
+
+    // Same predicate as DataRepository.search, so it is served by the same GIN index
+    public List<AggregationBucket> countByCategoryMatching(String tsQuery, int limit) {
+        return jdbcTemplate.query("SELECT category, COUNT(*) AS count FROM data_entity " +
+                "WHERE search_vector @@ to_tsquery('simple', ?) " +
+                "GROUP BY category ORDER BY count DESC, category LIMIT ?", CATEGORY_BUCKET, tsQuery, limit);
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.dataservice.repository;
+
+import com.app.dataservice.model.DataEntity;
+import com.app.dataservice.model.MetadataFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Compiles metadata filters to predicates the indexes in 02-data-service-schema.sql can serve:
+// equality and containment become jsonb @> (GIN, jsonb_path_ops), numeric ranges go through
+// data_metadata_number(), which hot keys have expression indexes on
+@Repository
+@RequiredArgsConstructor
+public class DataMetadataRepository {
+
+    private static final Map<MetadataFilter.Operator, String> RANGE_OPERATORS = Map.of(
+            MetadataFilter.Operator.GT, ">",
+            MetadataFilter.Operator.GTE, ">=",
+            MetadataFilter.Operator.LT, "<",
+            MetadataFilter.Operator.LTE, "<=");
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @SuppressWarnings("unchecked")
+    public List<DataEntity> findByMetadata(String category, List<MetadataFilter> filters, JsonNode contains,
+                                           long offset, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT d.* FROM data_entity d WHERE TRUE");
+        List<Object> params = new ArrayList<>();
+
+        if (category != null) {
+            sql.append(" AND d.category = ?").append(params.size() + 1);
+            params.add(category);
+        }
+
+        for (MetadataFilter filter : filters) {
+            if (filter.getOperator() == MetadataFilter.Operator.EQ) {
+                appendEquality(sql, params, filter);
+            } else {
+                // The path is a validated literal, not a parameter, so it matches the index expression
+                sql.append(" AND data_metadata_number(d.metadata, '{")
+                        .append(String.join(",", filter.getPath()))
+                        .append("}') ")
+                        .append(RANGE_OPERATORS.get(filter.getOperator()))
+                        .append(" ?").append(params.size() + 1);
+                params.add(new BigDecimal(filter.getValue()));
+            }
+        }
+
+        if (contains != null) {
+            sql.append(" AND d.metadata @> CAST(?").append(params.size() + 1).append(" AS jsonb)");
+            params.add(contains.toString());
+        }
+
+        sql.append(" ORDER BY d.created_at, d.id LIMIT ?").append(params.size() + 1)
+                .append(" OFFSET ?").append(params.size() + 2);
+        params.add(limit);
+        params.add(offset);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), DataEntity.class);
+        for (int i = 0; i < params.size(); i++) {
+            query.setParameter(i + 1, params.get(i));
+        }
+        return query.getResultList();
+    }
+
+    // Query strings carry no type, so a value that reads as a number or boolean matches either form
+    private void appendEquality(StringBuilder sql, List<Object> params, MetadataFilter filter) {
+        List<JsonNode> candidates = new ArrayList<>();
+        candidates.add(objectMapper.getNodeFactory().textNode(filter.getValue()));
+        JsonNode literal = parseLiteral(filter.getValue());
+        if (literal != null && (literal.isNumber() || literal.isBoolean())) {
+            candidates.add(literal);
+        }
+
+        List<String> predicates = new ArrayList<>();
+        for (JsonNode candidate : candidates) {
+            predicates.add("d.metadata @> CAST(?" + (params.size() + 1) + " AS jsonb)");
+            params.add(nest(filter.getPath(), candidate).toString());
+        }
+        sql.append(" AND (").append(String.join(" OR ", predicates)).append(")");
+    }
+
+    private JsonNode nest(List<String> path, JsonNode value) {
+        JsonNode node = value;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            ObjectNode parent = objectMapper.createObjectNode();
+            parent.set(path.get(i), node);
+            node = parent;
+        }
+        return node;
+    }
+
+    private JsonNode parseLiteral(String value) {
+        try {
+            return objectMapper.readTree(value);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.app.dataservice.repository;
+
+import com.app.dataservice.model.DataChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+// data_entity_outbox is filled by a trigger on data_entity, so it sees every change,
+// including direct SQL that bypasses DataService
+@Repository
+@RequiredArgsConstructor
+public class DataOutboxRepository {
+
+    // SKIP LOCKED lets every replica drain the outbox at once without handing out a row twice;
+    // the rows stay claimed until the surrounding transaction commits
+    private static final String CLAIM_SQL = "DELETE FROM data_entity_outbox WHERE id IN (" +
+            "SELECT id FROM data_entity_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, entity_id, operation, version, changed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<DataChangeEvent> claimBatch(int limit) {
+        List<DataChangeEvent> events = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> DataChangeEvent.builder()
+                .id(rs.getLong("id"))
+                .entityId(rs.getLong("entity_id"))
+                .operation(rs.getString("operation"))
+                .version((Long) rs.getObject("version"))
+                .changedAt(rs.getObject("changed_at", OffsetDateTime.class))
+                .build(), limit);
+        events.sort(Comparator.comparing(DataChangeEvent::getId));
+        return events;
+    }
+}
@@ -1,21 +1,79 @@
 package com.app.dataservice.repository;
 
 import com.app.dataservice.model.DataEntity;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface DataRepository extends JpaRepository<DataEntity, Long> {
 
+    String SEARCH_QUERY = "SELECT d.* FROM data_entity d, to_tsquery('simple', :query) q " +
+                          "WHERE d.search_vector @@ q " +
+                          "ORDER BY ts_rank_cd(d.search_vector, q) DESC, d.id DESC";
+
     Page<DataEntity> findByCategory(String category, Pageable pageable);
 
-    @Query("SELECT d FROM DataEntity d WHERE " +
-           "LOWER(d.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(d.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(d.category) LIKE LOWER(CONCAT('%', :query, '%'))")
+    // Slice return types skip the COUNT(*) query
+    Slice<DataEntity> findAllBy(Pageable pageable);
+
+    // Keyset pages walk idx_data_entity_created_at (created_at, id), so every page costs the same
+    @Query(value = "SELECT * FROM data_entity ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<DataEntity> findFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM data_entity WHERE (created_at, id) > (:createdAt, :id) " +
+                   "ORDER BY created_at, id LIMIT :limit",
+           nativeQuery = true)
+    List<DataEntity> findPageAfter(@Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id,
+                                   @Param("limit") int limit);
+
+    // The same pages limited to one category, walking idx_data_entity_category (category, created_at, id)
+    @Query(value = "SELECT * FROM data_entity WHERE category = :category ORDER BY created_at, id LIMIT :limit",
+           nativeQuery = true)
+    List<DataEntity> findFirstPageInCategory(@Param("category") String category, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM data_entity WHERE category = :category AND (created_at, id) > (:createdAt, :id) " +
+                   "ORDER BY created_at, id LIMIT :limit",
+           nativeQuery = true)
+    List<DataEntity> findPageAfterInCategory(@Param("category") String category,
+                                             @Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id,
+                                             @Param("limit") int limit);
+
+    // Server-side cursor: PostgreSQL only honours the fetch size inside a transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DataEntity d ORDER BY d.id")
+    Stream<DataEntity> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DataEntity d WHERE d.category = :category ORDER BY d.id")
+    Stream<DataEntity> streamByCategory(@Param("category") String category);
+
+    // Served by the GIN index on search_vector; :query is a to_tsquery expression
+    @Query(value = SEARCH_QUERY,
+           countQuery = "SELECT COUNT(*) FROM data_entity d " +
+                        "WHERE d.search_vector @@ to_tsquery('simple', :query)",
+           nativeQuery = true)
     Page<DataEntity> search(@Param("query") String query, Pageable pageable);
+
+    @Query(value = SEARCH_QUERY, nativeQuery = true)
+    Slice<DataEntity> searchSlice(@Param("query") String query, Pageable pageable);
 }
@@ -0,0 +1,102 @@
+package com.app.dataservice.service;
+
+import com.app.dataservice.model.AggregationBucket;
+import com.app.dataservice.repository.DataAggregationRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// GROUP BY aggregations over data_entity, cached as fields of one Redis hash so that a single
+// DEL invalidates every cached aggregation when the table changes. Each invalidation also bumps a
+// generation counter, and a result is only written back if no invalidation ran while it was queried.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataAggregationService {
+
+    private static final String CACHE_KEY = "data:agg";
+    private static final String GENERATION_KEY = "data:agg:gen";
+    private static final Set<String> INTERVALS = Set.of("hour", "day", "week", "month", "year");
+    private static final int MAX_FACETS = 50;
+    private static final TypeReference<List<AggregationBucket>> BUCKETS = new TypeReference<>() {
+    };
+
+    // The TTL is set once per hash, so it bounds staleness for every field written after it
+    private static final RedisScript<Long> PUT_IF_GENERATION = RedisScript.of("""
+            if tonumber(redis.call('GET', KEYS[2]) or '0') ~= tonumber(ARGV[1]) then
+              return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+            if redis.call('PTTL', KEYS[1]) < 0 then
+              redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            end
+            return 1
+            """, Long.class);
+
+    private final DataAggregationRepository dataAggregationRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${data.aggregation.cache-ttl:5m}")
+    private Duration cacheTtl;
+
+    public List<AggregationBucket> countByCategory() {
+        return cached("categories", dataAggregationRepository::countByCategory);
+    }
+
+    public List<AggregationBucket> countByCreatedAt(String interval, OffsetDateTime from, OffsetDateTime to) {
+        if (!INTERVALS.contains(interval)) {
+            throw new IllegalArgumentException("interval must be one of " + INTERVALS);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        String field = "created:" + interval + ":" + from + ":" + to;
+        return cached(field, () -> dataAggregationRepository.countByCreatedAt(interval, from, to));
+    }
+
+    public List<AggregationBucket> categoryFacets(String tsQuery) {
+        return cached("facets:" + tsQuery,
+                () -> dataAggregationRepository.countByCategoryMatching(tsQuery, MAX_FACETS));
+    }
+
+    public void invalidate() {
+        // Bump the generation before the DEL so a query already in flight cannot write its result back
+        redisTemplate.opsForValue().increment(GENERATION_KEY);
+        redisTemplate.delete(CACHE_KEY);
+    }
+
+    private List<AggregationBucket> cached(String field, Supplier<List<AggregationBucket>> query) {
+        Object cached = redisTemplate.opsForHash().get(CACHE_KEY, field);
+        if (cached != null) {
+            return objectMapper.convertValue(cached, BUCKETS);
+        }
+
+        Object generation = redisTemplate.opsForValue().get(GENERATION_KEY);
+        List<AggregationBucket> buckets = query.get();
+
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        redisTemplate.execute(PUT_IF_GENERATION, RedisSerializer.string(), new GenericToStringSerializer<>(Long.class),
+                List.of(CACHE_KEY, GENERATION_KEY),
+                String.valueOf(generation != null ? ((Number) generation).longValue() : 0),
+                field,
+                new String(valueSerializer.serialize(buckets), StandardCharsets.UTF_8),
+                String.valueOf(cacheTtl.toMillis()));
+        return buckets;
+    }
+}
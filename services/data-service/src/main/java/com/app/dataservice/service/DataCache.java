@@ -0,0 +1,293 @@
+package com.app.dataservice.service;
+
+import com.app.dataservice.model.DataEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Redis cache for data:<id> entries. A miss is loaded once per key: concurrent callers in this
+// JVM share one in-flight load, and a short Redis lock makes other replicas wait for its result
+// instead of querying the database themselves.
+@Slf4j
+@Component
+public class DataCache {
+
+    private static final String CACHE_PREFIX = "data:";
+    private static final String LOCK_PREFIX = "data:lock:";
+    private static final long LOCK_POLL_MILLIS = 25;
+
+    private static final RedisScript<Long> RELEASE_LOCK = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    // Writes only when the cached entry is not newer, so a slow reader can never put an old row
+    // back over one written by a later update
+    private static final RedisScript<Long> SET_IF_NOT_OLDER = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current then
+              local ok, cached = pcall(cjson.decode, current)
+              if ok and type(cached) == 'table' and tonumber(cached.version)
+                  and tonumber(cached.version) > tonumber(ARGV[2]) then
+                return 0
+              end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> DELETE_IF_OLDER = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if not current then
+              return 0
+            end
+            local ok, cached = pcall(cjson.decode, current)
+            if ok and type(cached) == 'table' and tonumber(cached.version)
+                and tonumber(cached.version) >= tonumber(ARGV[1]) then
+              return 0
+            end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final double ttlJitter;
+    private final Duration staleWhileRevalidate;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+
+    private final Map<Long, CompletableFuture<DataEntity>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DataCache(RedisTemplate<String, Object> redisTemplate,
+                     ObjectMapper objectMapper,
+                     @Value("${data.cache.ttl:10m}") Duration ttl,
+                     @Value("${data.cache.ttl-jitter:0.1}") double ttlJitter,
+                     @Value("${data.cache.stale-while-revalidate:0s}") Duration staleWhileRevalidate,
+                     @Value("${data.cache.lock-ttl:5s}") Duration lockTtl,
+                     @Value("${data.cache.lock-wait:2s}") Duration lockWait) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.ttlJitter = ttlJitter;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+    }
+
+    public DataEntity get(Long id, Function<Long, DataEntity> loader) {
+        String key = key(id);
+        if (staleWhileRevalidate.isZero()) {
+            DataEntity cached = toEntity(redisTemplate.opsForValue().get(key));
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            // Entries live for ttl + the stale window; inside the window they are served while one
+            // caller refreshes them in the background
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    operations.opsForValue().get(key);
+                    operations.getExpire(key, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+            DataEntity cached = toEntity(results.get(0));
+            if (cached != null) {
+                Long remaining = (Long) results.get(1);
+                if (remaining != null && remaining >= 0 && remaining < staleWhileRevalidate.toMillis()) {
+                    refreshExecutor.execute(() -> load(id, loader, true));
+                }
+                return cached;
+            }
+        }
+
+        try {
+            // A background refresh that lost the lock race completes without a value
+            DataEntity loaded = load(id, loader, false).join();
+            return loaded != null ? loaded : loadAndCache(id, loader);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public Map<Long, DataEntity> getAll(List<Long> ids) {
+        List<Object> cached = redisTemplate.opsForValue().multiGet(ids.stream().map(this::key).toList());
+
+        Map<Long, DataEntity> found = new HashMap<>();
+        for (int i = 0; cached != null && i < ids.size(); i++) {
+            DataEntity entity = toEntity(cached.get(i));
+            if (entity != null) {
+                found.put(ids.get(i), entity);
+            }
+        }
+        return found;
+    }
+
+    public void put(DataEntity entity) {
+        redisTemplate.execute(SET_IF_NOT_OLDER, List.of(key(entity.getId())), entity, version(entity),
+                entryTtl().toMillis());
+    }
+
+    // One pipelined round-trip for every SET instead of one per entity
+    public void putAll(Collection<DataEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                entities.forEach(entity -> operations.execute(SET_IF_NOT_OLDER, List.of(key(entity.getId())),
+                        entity, version(entity), entryTtl().toMillis()));
+                return null;
+            }
+        });
+    }
+
+    public void evict(Long id) {
+        redisTemplate.delete(key(id));
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        redisTemplate.delete(ids.stream().map(this::key).toList());
+    }
+
+    // Evicts each entry whose cached version is older than the given one, in one pipeline;
+    // entries already at that version (written by DataService itself) are kept
+    public void evictOlderThan(Map<Long, Long> versionsById) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                versionsById.forEach((id, version) ->
+                        operations.execute(DELETE_IF_OLDER, List.of(key(id)), version));
+                return null;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    private CompletableFuture<DataEntity> load(Long id, Function<Long, DataEntity> loader, boolean refresh) {
+        CompletableFuture<DataEntity> created = new CompletableFuture<>();
+        CompletableFuture<DataEntity> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            created.complete(loadWithLock(id, loader, refresh));
+        } catch (RuntimeException e) {
+            if (refresh) {
+                log.warn("Background refresh of data entity {} failed", id, e);
+            }
+            created.completeExceptionally(e);
+        } finally {
+            inFlight.remove(id, created);
+        }
+        return created;
+    }
+
+    private DataEntity loadWithLock(Long id, Function<Long, DataEntity> loader, boolean refresh) {
+        String key = key(id);
+        String lockKey = LOCK_PREFIX + id;
+        String token = UUID.randomUUID().toString();
+
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl))) {
+            if (refresh) {
+                // Another replica is already refreshing this entry
+                return toEntity(redisTemplate.opsForValue().get(key));
+            }
+            DataEntity loaded = awaitOtherLoader(key, lockKey);
+            return loaded != null ? loaded : loadAndCache(id, loader);
+        }
+
+        try {
+            // The entry may have been written between our miss and taking the lock
+            DataEntity cached = refresh ? null : toEntity(redisTemplate.opsForValue().get(key));
+            return cached != null ? cached : loadAndCache(id, loader);
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        }
+    }
+
+    // Polls for the lock holder's result; gives up when the lock disappears without a value
+    // (the holder failed) or the wait runs out, and the caller then loads the entity itself
+    private DataEntity awaitOtherLoader(String key, String lockKey) {
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            DataEntity cached = toEntity(redisTemplate.opsForValue().get(key));
+            if (cached != null) {
+                return cached;
+            }
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private DataEntity loadAndCache(Long id, Function<Long, DataEntity> loader) {
+        DataEntity entity = loader.apply(id);
+        put(entity);
+        return entity;
+    }
+
+    // Jitter spreads the expiry of entries written together, so they do not all miss at once
+    private Duration entryTtl() {
+        double factor = ttlJitter > 0 ? 1 + ThreadLocalRandom.current().nextDouble(-ttlJitter, ttlJitter) : 1;
+        return Duration.ofMillis((long) (ttl.toMillis() * factor)).plus(staleWhileRevalidate);
+    }
+
+    private long version(DataEntity entity) {
+        return entity.getVersion() != null ? entity.getVersion() : 0;
+    }
+
+    // The shared ObjectMapper carries no type information, so cached values come back as maps
+    private DataEntity toEntity(Object cached) {
+        if (cached == null || cached instanceof DataEntity) {
+            return (DataEntity) cached;
+        }
+        return objectMapper.convertValue(cached, DataEntity.class);
+    }
+
+    private String key(Long id) {
+        return CACHE_PREFIX + id;
+    }
+}
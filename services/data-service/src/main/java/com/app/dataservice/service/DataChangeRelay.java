@@ -0,0 +1,92 @@
+package com.app.dataservice.service;
+
+import com.app.dataservice.model.DataChangeEvent;
+import com.app.dataservice.repository.DataOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Relays data_entity changes from the outbox table: stale data:<id> entries and cached
+// aggregations are evicted, and every change is appended to the data:changes Redis Stream
+// for other services to consume
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataChangeRelay {
+
+    private final DataOutboxRepository dataOutboxRepository;
+    private final DataCache dataCache;
+    private final DataAggregationService dataAggregationService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${data.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${data.outbox.stream-key:data:changes}")
+    private String streamKey;
+
+    @Value("${data.outbox.stream-max-length:1000000}")
+    private long streamMaxLength;
+
+    @Scheduled(fixedDelayString = "${data.outbox.poll-interval-ms:500}")
+    public void relayChanges() {
+        int relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed == batchSize);
+    }
+
+    // Runs inside the claiming transaction: if Redis is unreachable the rows are rolled back
+    // into the outbox and picked up again on the next poll
+    private int relayBatch() {
+        List<DataChangeEvent> events = dataOutboxRepository.claimBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> latestVersions = new LinkedHashMap<>();
+        for (DataChangeEvent event : events) {
+            // Deletes evict unconditionally; anything else only evicts entries older than the change
+            long version = "DELETE".equals(event.getOperation()) || event.getVersion() == null
+                    ? Long.MAX_VALUE
+                    : event.getVersion();
+            latestVersions.merge(event.getEntityId(), version, Math::max);
+        }
+        dataCache.evictOlderThan(latestVersions);
+        dataAggregationService.invalidate();
+
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (DataChangeEvent event : events) {
+                    Map<String, String> fields = new LinkedHashMap<>();
+                    fields.put("entityId", event.getEntityId().toString());
+                    fields.put("operation", event.getOperation());
+                    if (event.getVersion() != null) {
+                        fields.put("version", event.getVersion().toString());
+                    }
+                    fields.put("changedAt", event.getChangedAt().toString());
+                    operations.opsForStream().add(StreamRecords.string(fields).withStreamKey(streamKey));
+                }
+                operations.opsForStream().trim(streamKey, streamMaxLength, true);
+                return null;
+            }
+        });
+
+        log.debug("Relayed {} data entity changes", events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.dataservice.service;
+
+import com.app.dataservice.model.DataEntity;
+import com.app.dataservice.repository.DataRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataExportService {
+
+    private static final String CSV_HEADER = "id,name,description,category,metadata,created_at,updated_at";
+
+    private final DataRepository dataRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public enum Format { NDJSON, CSV }
+
+    // Rows come from a server-side cursor and are detached once written, so memory stays flat
+    // however many rows are exported
+    @Transactional(readOnly = true)
+    public long export(String category, Format format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<DataEntity> entities = category != null
+                ? dataRepository.streamByCategory(category)
+                : dataRepository.streamAll()) {
+            Iterator<DataEntity> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                DataEntity entity = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, entity);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(entity));
+                    writer.write('\n');
+                }
+                entityManager.detach(entity);
+                rows++;
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} data entities as {}", rows, format);
+        return rows;
+    }
+
+    private void writeCsv(Writer writer, DataEntity entity) throws IOException {
+        writer.write(String.valueOf(entity.getId()));
+        writer.write(',');
+        writeCsvField(writer, entity.getName());
+        writer.write(',');
+        writeCsvField(writer, entity.getDescription());
+        writer.write(',');
+        writeCsvField(writer, entity.getCategory());
+        writer.write(',');
+        writeCsvField(writer, entity.getMetadata() != null
+                ? objectMapper.writeValueAsString(entity.getMetadata())
+                : null);
+        writer.write(',');
+        writeCsvField(writer, entity.getCreatedAt() != null ? entity.getCreatedAt().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, entity.getUpdatedAt() != null ? entity.getUpdatedAt().toString() : null);
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
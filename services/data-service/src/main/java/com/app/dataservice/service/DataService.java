@@ -1,15 +1,40 @@
 package com.app.dataservice.service;
 
+import com.app.dataservice.model.CursorPage;
 import com.app.dataservice.model.DataEntity;
+import com.app.dataservice.model.MetadataFilter;
+import com.app.dataservice.model.SearchResult;
+import com.app.dataservice.repository.DataCopyRepository;
+import com.app.dataservice.repository.DataMetadataRepository;
 import com.app.dataservice.repository.DataRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -17,58 +42,316 @@ import java.time.Duration;
 public class DataService {
 
     private final DataRepository dataRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final DataCopyRepository dataCopyRepository;
+    private final DataMetadataRepository dataMetadataRepository;
+    private final DataCache dataCache;
+    private final DataAggregationService dataAggregationService;
+    private final ObjectMapper objectMapper;
 
-    private static final String CACHE_PREFIX = "data:";
-    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+    private static final String CURSOR_SEPARATOR = ",";
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_MULTI_GET = 1000;
+    private static final String METADATA_PARAM_PREFIX = "metadata.";
+    private static final Pattern METADATA_KEY = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Set<String> RANGE_OPERATORS = Set.of("GT", "GTE", "LT", "LTE");
+    private static final int MAX_METADATA_FILTERS = 20;
+    private static final Pattern SEARCH_TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    @Value("${data.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    @Value("${data.batch.copy-threshold:1000}")
+    private int copyThreshold;
 
     public Page<DataEntity> listData(Pageable pageable) {
         return dataRepository.findAll(pageable);
     }
 
+    public Slice<DataEntity> listDataSlice(Pageable pageable) {
+        return dataRepository.findAllBy(pageable);
+    }
+
+    // category, when given, limits the pages to that category; cursors are only valid for the
+    // filter they were issued under
+    public CursorPage<DataEntity> listDataAfter(String cursor, int size, String category) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        if (category != null && category.isEmpty()) {
+            category = null;
+        }
+
+        // One extra row tells us whether another page exists without counting
+        List<DataEntity> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = category == null
+                    ? dataRepository.findFirstPage(size + 1)
+                    : dataRepository.findFirstPageInCategory(category, size + 1);
+        } else {
+            String[] position = decodeCursor(cursor);
+            OffsetDateTime createdAt = OffsetDateTime.parse(position[0]);
+            Long id = Long.parseLong(position[1]);
+            rows = category == null
+                    ? dataRepository.findPageAfter(createdAt, id, size + 1)
+                    : dataRepository.findPageAfterInCategory(category, createdAt, id, size + 1);
+        }
+
+        if (rows.size() <= size) {
+            return CursorPage.<DataEntity>builder().items(rows).build();
+        }
+        List<DataEntity> items = rows.subList(0, size);
+        DataEntity last = items.get(size - 1);
+        return CursorPage.<DataEntity>builder()
+                .items(items)
+                .nextCursor(encodeCursor(last))
+                .build();
+    }
+
     public DataEntity getById(Long id) {
-        String cacheKey = CACHE_PREFIX + id;
-        DataEntity cached = (DataEntity) redisTemplate.opsForValue().get(cacheKey);
-        if (cached != null) {
-            return cached;
+        return dataCache.get(id, this::loadById);
+    }
+
+    // One MGET, one findAllById for the misses and one pipelined backfill, however many ids
+    public List<DataEntity> getByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_MULTI_GET) {
+            throw new IllegalArgumentException("ids must contain between 1 and " + MAX_MULTI_GET + " ids");
         }
 
-        DataEntity entity = dataRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Data entity not found: " + id));
+        Map<Long, DataEntity> found = new HashMap<>(dataCache.getAll(distinctIds));
+        List<Long> misses = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            List<DataEntity> loaded = dataRepository.findAllById(misses);
+            loaded.forEach(entity -> found.put(entity.getId(), entity));
+            dataCache.putAll(loaded);
+        }
 
-        redisTemplate.opsForValue().set(cacheKey, entity, CACHE_TTL);
-        return entity;
+        // Request order is kept; ids that do not exist are left out
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
     }
 
     public DataEntity create(DataEntity entity) {
+        entity.setVersion(null);
         DataEntity saved = dataRepository.save(entity);
-        redisTemplate.opsForValue().set(CACHE_PREFIX + saved.getId(), saved, CACHE_TTL);
+        dataCache.put(saved);
         log.info("Created data entity: id={}", saved.getId());
         return saved;
     }
 
+    @Transactional
     public DataEntity update(Long id, DataEntity updates) {
         DataEntity existing = dataRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Data entity not found: " + id));
+        checkVersion(existing, updates);
 
         existing.setName(updates.getName());
         existing.setDescription(updates.getDescription());
         existing.setCategory(updates.getCategory());
         existing.setMetadata(updates.getMetadata());
 
-        DataEntity saved = dataRepository.save(existing);
-        redisTemplate.opsForValue().set(CACHE_PREFIX + saved.getId(), saved, CACHE_TTL);
+        // Flushed here so the cached copy carries the incremented version
+        DataEntity saved = dataRepository.saveAndFlush(existing);
+        dataCache.put(saved);
         log.info("Updated data entity: id={}", saved.getId());
         return saved;
     }
 
+    @Transactional
+    public List<DataEntity> createAll(List<DataEntity> entities) {
+        validateBatch(entities);
+        OffsetDateTime now = OffsetDateTime.now();
+        entities.forEach(entity -> {
+            entity.setId(null);
+            entity.setVersion(null);
+            entity.setCreatedAt(now);
+            entity.setUpdatedAt(now);
+        });
+
+        List<DataEntity> saved;
+        if (entities.size() >= copyThreshold) {
+            List<Long> ids = dataCopyRepository.allocateIds(entities.size());
+            for (int i = 0; i < entities.size(); i++) {
+                entities.get(i).setId(ids.get(i));
+                entities.get(i).setVersion(0L);
+            }
+            dataCopyRepository.copyIn(entities);
+            saved = entities;
+        } else {
+            saved = dataRepository.saveAllAndFlush(entities);
+        }
+
+        dataCache.putAll(saved);
+        log.info("Created {} data entities", saved.size());
+        return saved;
+    }
+
+    @Transactional
+    public List<DataEntity> updateAll(List<DataEntity> updates) {
+        validateBatch(updates);
+        Map<Long, DataEntity> existing = dataRepository.findAllById(updates.stream().map(DataEntity::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(DataEntity::getId, Function.identity()));
+
+        List<Long> missing = updates.stream().map(DataEntity::getId).filter(id -> !existing.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Data entities not found: " + missing);
+        }
+
+        for (DataEntity update : updates) {
+            DataEntity entity = existing.get(update.getId());
+            checkVersion(entity, update);
+            entity.setName(update.getName());
+            entity.setDescription(update.getDescription());
+            entity.setCategory(update.getCategory());
+            entity.setMetadata(update.getMetadata());
+        }
+
+        List<DataEntity> saved = dataRepository.saveAllAndFlush(existing.values());
+        dataCache.putAll(saved);
+        log.info("Updated {} data entities", saved.size());
+        return saved;
+    }
+
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        validateBatch(ids);
+        dataRepository.deleteAllByIdInBatch(ids);
+        dataCache.evictAll(ids);
+        log.info("Deleted {} data entities", ids.size());
+    }
+
     public void delete(Long id) {
         dataRepository.deleteById(id);
-        redisTemplate.delete(CACHE_PREFIX + id);
+        dataCache.evict(id);
         log.info("Deleted data entity: id={}", id);
     }
 
+    // metadata.owner=alice, metadata.size.gte=10 and contains={"tags":["x"]} are ANDed together
+    public Slice<DataEntity> filterByMetadata(Map<String, String> params, String category, String contains,
+                                              Pageable pageable) {
+        List<MetadataFilter> filters = new ArrayList<>();
+        params.forEach((name, value) -> {
+            if (name.startsWith(METADATA_PARAM_PREFIX)) {
+                filters.add(toMetadataFilter(name.substring(METADATA_PARAM_PREFIX.length()), value));
+            }
+        });
+        if (filters.size() > MAX_METADATA_FILTERS) {
+            throw new IllegalArgumentException("At most " + MAX_METADATA_FILTERS + " metadata filters are allowed");
+        }
+
+        JsonNode containsNode = null;
+        if (contains != null) {
+            try {
+                containsNode = objectMapper.readTree(contains);
+            } catch (JsonProcessingException e) {
+                containsNode = null;
+            }
+            if (containsNode == null || !containsNode.isObject()) {
+                throw new IllegalArgumentException("contains must be a JSON object");
+            }
+        }
+
+        // One extra row tells us whether another page exists without counting
+        List<DataEntity> rows = dataMetadataRepository.findByMetadata(
+                category, filters, containsNode, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
     public Page<DataEntity> search(String query, Pageable pageable) {
-        return dataRepository.search(query, pageable);
+        // Results are ordered by relevance, so any client-supplied sort is dropped
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return dataRepository.search(toPrefixQuery(query), page);
+    }
+
+    public SearchResult searchWithFacets(String query, Pageable pageable) {
+        String tsQuery = toPrefixQuery(query);
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return SearchResult.builder()
+                .results(dataRepository.search(tsQuery, page))
+                .categories(dataAggregationService.categoryFacets(tsQuery))
+                .build();
+    }
+
+    public Slice<DataEntity> searchSlice(String query, Pageable pageable) {
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return dataRepository.searchSlice(toPrefixQuery(query), page);
+    }
+
+    // Clients that send the version they read get optimistic locking across the whole edit
+    private void checkVersion(DataEntity existing, DataEntity updates) {
+        if (updates.getVersion() != null && !updates.getVersion().equals(existing.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(DataEntity.class, existing.getId());
+        }
+    }
+
+    private MetadataFilter toMetadataFilter(String key, String value) {
+        List<String> path = new ArrayList<>(List.of(key.split("\\.", -1)));
+        MetadataFilter.Operator operator = MetadataFilter.Operator.EQ;
+        if (path.size() > 1) {
+            String last = path.get(path.size() - 1).toUpperCase();
+            if (RANGE_OPERATORS.contains(last)) {
+                operator = MetadataFilter.Operator.valueOf(last);
+                path.remove(path.size() - 1);
+            }
+        }
+
+        if (path.stream().anyMatch(segment -> !METADATA_KEY.matcher(segment).matches())) {
+            throw new IllegalArgumentException("Invalid metadata key: " + key);
+        }
+        if (operator != MetadataFilter.Operator.EQ) {
+            try {
+                new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Range filter on " + key + " needs a number: " + value);
+            }
+        }
+        return MetadataFilter.builder().path(path).operator(operator).value(value).build();
+    }
+
+    private DataEntity loadById(Long id) {
+        return dataRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Data entity not found: " + id));
+    }
+
+    // "data serv" -> "data:* & serv:*": every term must match, each as a word prefix
+    private String toPrefixQuery(String query) {
+        List<String> terms = SEARCH_TERM.matcher(query.toLowerCase()).results()
+                .map(match -> match.group() + ":*")
+                .toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        return String.join(" & ", terms);
+    }
+
+    private void validateBatch(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must not be empty");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch must not exceed " + maxBatchSize + " items");
+        }
+        if (items.contains(null)) {
+            throw new IllegalArgumentException("Batch must not contain null items");
+        }
+    }
+
+    private String encodeCursor(DataEntity last) {
+        String position = last.getCreatedAt().toString() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, 2);
+            OffsetDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 }
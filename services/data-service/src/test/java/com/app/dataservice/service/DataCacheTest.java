@@ -0,0 +1,245 @@
+package com.app.dataservice.service;
+
+import com.app.dataservice.config.JacksonConfig;
+import com.app.dataservice.model.DataEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.OneArgFunction;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DataCacheTest {
+
+    private static final int CALLERS = 50;
+
+    private static final ObjectMapper JSON = new JacksonConfig().objectMapper();
+
+    // Same value serializer as RedisConfig
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(JSON);
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final AtomicInteger databaseLoads = new AtomicInteger();
+
+    private final Function<Long, DataEntity> slowLoader = id -> {
+        databaseLoads.incrementAndGet();
+        sleep(200);
+        return DataEntity.builder().id(id).name("entity-" + id).build();
+    };
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        DataCache cache = newCache();
+
+        List<DataEntity> results = getConcurrently(List.of(cache), 1L);
+
+        assertThat(databaseLoads).hasValue(1);
+        assertThat(results).hasSize(CALLERS).allSatisfy(entity -> assertThat(entity.getId()).isEqualTo(1L));
+    }
+
+    @Test
+    void replicasShareOneLoadThroughRedisLock() throws Exception {
+        List<DataCache> replicas = List.of(newCache(), newCache(), newCache());
+
+        List<DataEntity> results = getConcurrently(replicas, 1L);
+
+        assertThat(databaseLoads).hasValue(1);
+        assertThat(results).hasSize(CALLERS).allSatisfy(entity -> assertThat(entity.getName()).isEqualTo("entity-1"));
+    }
+
+    @Test
+    void staleLoadDoesNotOverwriteNewerVersion() {
+        DataCache cache = newCache();
+        cache.put(DataEntity.builder().id(1L).name("updated").version(2L).build());
+
+        cache.put(DataEntity.builder().id(1L).name("stale").version(1L).build());
+
+        assertThat(cache.get(1L, slowLoader).getName()).isEqualTo("updated");
+        assertThat(databaseLoads).hasValue(0);
+    }
+
+    @Test
+    void loadsOncePerExpiry() throws Exception {
+        List<DataCache> replicas = List.of(newCache(), newCache());
+
+        getConcurrently(replicas, 1L);
+        redis.remove("data:1");
+        getConcurrently(replicas, 1L);
+
+        assertThat(databaseLoads).hasValue(2);
+    }
+
+    private List<DataEntity> getConcurrently(List<DataCache> replicas, Long id) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<DataEntity>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                DataCache replica = replicas.get(i % replicas.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return replica.get(id, slowLoader);
+                }));
+            }
+            start.countDown();
+
+            List<DataEntity> results = new ArrayList<>();
+            for (Future<DataEntity> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private DataCache newCache() {
+        return new DataCache(new InMemoryRedisTemplate(), JSON, Duration.ofMinutes(10), 0.1,
+                Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(2));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Every replica talks to the same map, standing in for one shared Redis. Values are stored the
+    // way RedisConfig serializes them, and scripts run the real Lua source against that map.
+    @SuppressWarnings("unchecked")
+    private class InMemoryRedisTemplate extends RedisTemplate<String, Object> {
+
+        private final ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+
+        InMemoryRedisTemplate() {
+            when(valueOperations.get(anyString())).thenAnswer(call -> {
+                String value = redis.get(call.<String>getArgument(0));
+                return value != null ? serializer.deserialize(value.getBytes(StandardCharsets.UTF_8)) : null;
+            });
+            when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class)))
+                    .thenAnswer(call -> redis.putIfAbsent(call.getArgument(0), serialize(call.getArgument(1))) == null);
+        }
+
+        @Override
+        public ValueOperations<String, Object> opsForValue() {
+            return valueOperations;
+        }
+
+        @Override
+        public Boolean hasKey(String key) {
+            return redis.containsKey(key);
+        }
+
+        @Override
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            LuaTable keysTable = new LuaTable();
+            keys.forEach(key -> keysTable.insert(0, LuaValue.valueOf(key)));
+            LuaTable argsTable = new LuaTable();
+            for (Object arg : args) {
+                argsTable.insert(0, LuaValue.valueOf(serialize(arg)));
+            }
+
+            Globals globals = JsePlatform.standardGlobals();
+            globals.set("KEYS", keysTable);
+            globals.set("ARGV", argsTable);
+            globals.set("redis", LuaValue.tableOf(new LuaValue[]{LuaValue.valueOf("call"), new RedisCall()}));
+            globals.set("cjson", LuaValue.tableOf(new LuaValue[]{LuaValue.valueOf("decode"), new JsonDecode()}));
+
+            // Scripts run atomically, as they do in Redis
+            synchronized (redis) {
+                LuaValue result = globals.load(script.getScriptAsString()).call();
+                return (T) (result.isnumber() ? Long.valueOf(result.tolong()) : null);
+            }
+        }
+
+        private String serialize(Object value) {
+            return new String(serializer.serialize(value), StandardCharsets.UTF_8);
+        }
+    }
+
+    // redis.call for the GET, SET key value PX ttl and DEL commands the cache scripts use
+    private class RedisCall extends VarArgFunction {
+        @Override
+        public Varargs invoke(Varargs args) {
+            String key = args.checkjstring(2);
+            switch (args.checkjstring(1).toUpperCase()) {
+                case "GET" -> {
+                    String value = redis.get(key);
+                    return value != null ? LuaValue.valueOf(value) : LuaValue.FALSE;
+                }
+                case "SET" -> {
+                    if (!"PX".equalsIgnoreCase(args.checkjstring(4)) || args.checklong(5) <= 0) {
+                        throw new LuaError("ERR invalid expire time in 'set' command");
+                    }
+                    redis.put(key, args.checkjstring(3));
+                    return LuaValue.valueOf("OK");
+                }
+                case "DEL" -> {
+                    return LuaValue.valueOf(redis.remove(key) != null ? 1 : 0);
+                }
+                default -> throw new LuaError("ERR unknown command '" + args.checkjstring(1) + "'");
+            }
+        }
+    }
+
+    private static class JsonDecode extends OneArgFunction {
+        @Override
+        public LuaValue call(LuaValue json) {
+            try {
+                return toLua(JSON.readTree(json.checkjstring()));
+            } catch (JsonProcessingException e) {
+                throw new LuaError("Expected value but found invalid token");
+            }
+        }
+
+        private static LuaValue toLua(JsonNode node) {
+            if (node.isObject()) {
+                LuaTable table = new LuaTable();
+                node.fields().forEachRemaining(field -> table.set(field.getKey(), toLua(field.getValue())));
+                return table;
+            }
+            if (node.isArray()) {
+                LuaTable table = new LuaTable();
+                node.forEach(element -> table.insert(0, toLua(element)));
+                return table;
+            }
+            if (node.isNumber()) {
+                return LuaValue.valueOf(node.asDouble());
+            }
+            if (node.isBoolean()) {
+                return LuaValue.valueOf(node.asBoolean());
+            }
+            return node.isNull() ? LuaValue.NIL : LuaValue.valueOf(node.asText());
+        }
+    }
+}
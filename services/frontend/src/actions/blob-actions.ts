@@ -1,14 +1,20 @@
 "use server";
 
 import { apiGet, apiDelete, apiPostFormData } from "@/lib/api-client";
-import type { BlobMetadata, UploadResponse } from "@/types/api";
+import type { BlobMetadata, BlobPage, UploadResponse } from "@/types/api";
 
 export async function listContainers(): Promise<string[]> {
   return apiGet<string[]>("blob", "/api/blobs/containers");
 }
 
-export async function listBlobs(container: string): Promise<BlobMetadata[]> {
-  return apiGet<BlobMetadata[]>("blob", `/api/blobs/${container}`);
+export async function listBlobs(
+  container: string,
+  continuationToken?: string
+): Promise<BlobPage> {
+  const query = continuationToken
+    ? `?continuationToken=${encodeURIComponent(continuationToken)}`
+    : "";
+  return apiGet<BlobPage>("blob", `/api/blobs/${container}${query}`);
 }
 
 export async function getBlobMetadata(
@@ -1,10 +1,14 @@
 "use server";
 
 import { apiGet, apiPost } from "@/lib/api-client";
-import type { Report } from "@/types/api";
+import type { CursorPage, Report, ReportSummary } from "@/types/api";
 
-export async function listReports(): Promise<Report[]> {
-  return apiGet<Report[]>("reports", "/api/reports");
+export async function listReports(size = 50): Promise<ReportSummary[]> {
+  const page = await apiGet<CursorPage<ReportSummary>>(
+    "reports",
+    `/api/reports?size=${size}`
+  );
+  return page.items;
 }
 
 export async function getReport(id: number): Promise<Report> {
@@ -44,8 +44,11 @@ async function ContainerSection({
   containerName: string;
 }) {
   let blobs: BlobMetadata[] = [];
+  let hasMore = false;
   try {
-    blobs = await listBlobs(containerName);
+    const page = await listBlobs(containerName);
+    blobs = page.items;
+    hasMore = Boolean(page.continuationToken);
   } catch {
     // Service may not be available
   }
@@ -54,7 +57,10 @@ async function ContainerSection({
     <div className="rounded-lg border border-gray-200 bg-white">
       <div className="border-b border-gray-200 px-6 py-4">
         <h3 className="text-lg font-medium text-gray-900">{containerName}</h3>
-        <p className="text-sm text-gray-500">{blobs.length} files</p>
+        <p className="text-sm text-gray-500">
+          {blobs.length}
+          {hasMore ? "+" : ""} files
+        </p>
       </div>
       {blobs.length > 0 && (
         <table className="w-full">
@@ -1,7 +1,7 @@
 import { listReports } from "@/actions/report-actions";
 import { formatDate } from "@/lib/utils";
 import RoleGate from "@/components/role-gate";
-import type { Report } from "@/types/api";
+import type { Report, ReportSummary } from "@/types/api";
 
 function StatusBadge({ status }: { status: Report["status"] }) {
   const styles: Record<Report["status"], string> = {
@@ -21,7 +21,7 @@ function StatusBadge({ status }: { status: Report["status"] }) {
 }
 
 export default async function ReportsPage() {
-  let reports: Report[] = [];
+  let reports: ReportSummary[] = [];
   try {
     reports = await listReports();
   } catch {
@@ -7,6 +7,12 @@ export interface BlobMetadata {
   metadata?: Record<string, string>;
 }
 
+export interface BlobPage {
+  items: BlobMetadata[];
+  prefixes: string[];
+  continuationToken?: string;
+}
+
 export interface UploadResponse {
   blobName: string;
   containerName: string;
@@ -27,6 +33,9 @@ export interface Report {
   updatedAt: string;
 }
 
+// A row of GET /api/reports, which leaves out parameters and errorMessage
+export type ReportSummary = Omit<Report, "parameters" | "errorMessage">;
+
 export interface DataEntity {
   id: number;
   name: string;
@@ -37,6 +46,11 @@ export interface DataEntity {
   updatedAt: string;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string;
+}
+
 export interface Page<T> {
   content: T[];
   totalElements: number;
@@ -0,0 +1,28 @@
+package com.app.reportsservice.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class BlobServiceClient {
+
+    private final RestClient restClient;
+
+    public BlobServiceClient(@Qualifier("blobServiceRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    // Streams the body into blob-service's raw upload, which stages it as blocks as it arrives;
+    // neither side holds the whole file. A body that throws aborts the upload before the commit.
+    public void upload(String container, String blobName, MediaType contentType, StreamingHttpOutputMessage.Body body) {
+        restClient.put()
+                .uri("/api/blobs/{container}/{blob}", container, blobName)
+                .contentType(contentType)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.reportsservice.client;
+
+import com.app.reportsservice.model.DataPage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class DataServiceClient {
+
+    private final RestClient restClient;
+
+    public DataServiceClient(@Qualifier("dataServiceRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    // An empty cursor requests the first page; the last page comes back without a nextCursor.
+    // A null category pages through every row.
+    public DataPage fetchPage(String cursor, int size, String category) {
+        // Values go in as template variables so they are strictly encoded: a literal '+' or '{'
+        // in a category or cursor would otherwise be read back as a space or a variable
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("cursor", cursor != null ? cursor : "");
+        return restClient.get()
+                .uri(uri -> {
+                    uri.path("/api/data")
+                            .queryParam("cursor", "{cursor}")
+                            .queryParam("size", size);
+                    if (category != null) {
+                        uri.queryParam("category", "{category}");
+                        variables.put("category", category);
+                    }
+                    return uri.build(variables);
+                })
+                .retrieve()
+                .body(DataPage.class);
+    }
+
+    // Rows fetchPage will return for the same category, from data-service's cached per-category
+    // counts; used only to report progress
+    public long countRows(String category) {
+        List<Map<String, Object>> buckets = restClient.get()
+                .uri("/api/data/aggregations/categories")
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {
+                });
+        if (buckets == null) {
+            return 0;
+        }
+        return buckets.stream()
+                .filter(bucket -> category == null || category.equals(bucket.get("key")))
+                .mapToLong(bucket -> bucket.get("count") instanceof Number count ? count.longValue() : 0)
+                .sum();
+    }
+}
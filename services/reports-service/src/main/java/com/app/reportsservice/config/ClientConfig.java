@@ -0,0 +1,51 @@
+package com.app.reportsservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class ClientConfig {
+
+    @Value("${reports.data-service.url:http://localhost:8083}")
+    private String dataServiceUrl;
+
+    @Value("${reports.blob-service.url:http://localhost:8081}")
+    private String blobServiceUrl;
+
+    @Value("${reports.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${reports.http.read-timeout:5m}")
+    private Duration readTimeout;
+
+    @Bean
+    public RestClient dataServiceRestClient(RestClient.Builder builder) {
+        return builder.clone()
+                .baseUrl(dataServiceUrl)
+                .requestFactory(requestFactory())
+                .build();
+    }
+
+    @Bean
+    public RestClient blobServiceRestClient(RestClient.Builder builder) {
+        return builder.clone()
+                .baseUrl(blobServiceUrl)
+                .requestFactory(requestFactory())
+                .build();
+    }
+
+    // The JDK client sends streamed request bodies chunked, without buffering them first
+    private JdkClientHttpRequestFactory requestFactory() {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build());
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+}
@@ -1,13 +1,16 @@
 package com.app.reportsservice.controller;
 
+import com.app.reportsservice.model.CursorPage;
 import com.app.reportsservice.model.Report;
 import com.app.reportsservice.model.ReportStatus;
+import com.app.reportsservice.model.ReportSummary;
 import com.app.reportsservice.service.ReportGenerationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,16 +27,21 @@ public class ReportController {
 
         @SuppressWarnings("unchecked")
         Map<String, Object> parameters = (Map<String, Object>) request.getOrDefault("parameters", Map.of());
+        if (parameters == null) {
+            parameters = Map.of();
+        }
 
         Report report = reportGenerationService.createReport(name, type, parameters);
-        reportGenerationService.processReport(report.getId());
-
         return ResponseEntity.ok(report);
     }
 
     @GetMapping
-    public ResponseEntity<List<Report>> listReports() {
-        return ResponseEntity.ok(reportGenerationService.listReports());
+    public ResponseEntity<CursorPage<ReportSummary>> listReports(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reportGenerationService.listReports(status, type, cursor, size));
     }
 
     @GetMapping("/{id}")
@@ -46,4 +54,9 @@ public class ReportController {
         ReportStatus status = reportGenerationService.getReportStatus(id);
         return ResponseEntity.ok(Map.of("id", id.toString(), "status", status.name()));
     }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter watchReport(@PathVariable Long id) {
+        return reportGenerationService.watchReport(id);
+    }
 }
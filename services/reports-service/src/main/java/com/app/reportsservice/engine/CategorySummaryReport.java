@@ -0,0 +1,87 @@
+package com.app.reportsservice.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Row count per category and, when parameters.metric names a numeric metadata key, its
+// sum/min/max/avg. Only one accumulator per category is kept while the rows stream past.
+@Component
+public class CategorySummaryReport implements ReportType {
+
+    private static final List<String> COLUMNS = List.of("category", "count", "sum", "min", "max", "avg");
+
+    @Override
+    public String name() {
+        return "CATEGORY_SUMMARY";
+    }
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void validate(Map<String, Object> parameters) {
+        Object metric = parameters.get("metric");
+        if (metric != null && !(metric instanceof String)) {
+            throw new IllegalArgumentException("metric must be a metadata key");
+        }
+    }
+
+    @Override
+    public Run start(Map<String, Object> parameters) {
+        String metric = (String) parameters.get("metric");
+        Map<String, Totals> totals = new HashMap<>();
+
+        return new Run() {
+            @Override
+            public void accept(Map<String, Object> row, RowWriter writer) {
+                Totals categoryTotals = totals.computeIfAbsent((String) row.get("category"), c -> new Totals());
+                categoryTotals.count++;
+                if (metric != null && row.get("metadata") instanceof Map<?, ?> metadata
+                        && metadata.get(metric) instanceof Number number) {
+                    categoryTotals.add(number.doubleValue());
+                }
+            }
+
+            @Override
+            public void finish(RowWriter writer) throws IOException {
+                List<Map.Entry<String, Totals>> sorted = totals.entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey(Comparator.nullsLast(Comparator.naturalOrder())))
+                        .toList();
+                for (Map.Entry<String, Totals> entry : sorted) {
+                    Totals t = entry.getValue();
+                    Map<String, Object> out = new LinkedHashMap<>();
+                    out.put("category", entry.getKey());
+                    out.put("count", t.count);
+                    out.put("sum", t.values > 0 ? t.sum : null);
+                    out.put("min", t.values > 0 ? t.min : null);
+                    out.put("max", t.values > 0 ? t.max : null);
+                    out.put("avg", t.values > 0 ? t.sum / t.values : null);
+                    writer.write(out);
+                }
+            }
+        };
+    }
+
+    private static class Totals {
+        long count;
+        long values;
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void add(double value) {
+            values++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.reportsservice.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Every data entity, optionally limited to one category, written row by row as it arrives
+@Component
+public class DataExportReport implements ReportType {
+
+    private static final List<String> COLUMNS =
+            List.of("id", "name", "description", "category", "metadata", "createdAt", "updatedAt");
+
+    @Override
+    public String name() {
+        return "DATA_EXPORT";
+    }
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void validate(Map<String, Object> parameters) {
+        Object category = parameters.get("category");
+        if (category != null && !(category instanceof String)) {
+            throw new IllegalArgumentException("category must be a string");
+        }
+    }
+
+    @Override
+    public String sourceCategory(Map<String, Object> parameters) {
+        return (String) parameters.get("category");
+    }
+
+    @Override
+    public Run start(Map<String, Object> parameters) {
+        return (row, writer) -> {
+            Map<String, Object> out = new LinkedHashMap<>();
+            COLUMNS.forEach(column -> out.put(column, row.get(column)));
+            writer.write(out);
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.app.reportsservice.engine;
+
+import com.app.reportsservice.client.BlobServiceClient;
+import com.app.reportsservice.client.DataServiceClient;
+import com.app.reportsservice.model.DataPage;
+import com.app.reportsservice.model.Report;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+// Pulls source rows from data-service one cursor page at a time, pushes them through the report
+// type and streams the output straight into blob storage. Memory use is one page plus whatever
+// the type aggregates, regardless of how many rows or bytes the report has.
+@Slf4j
+@Service
+public class ReportEngine {
+
+    private final Map<String, ReportType> types;
+    private final DataServiceClient dataServiceClient;
+    private final BlobServiceClient blobServiceClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${reports.source.page-size:1000}")
+    private int pageSize;
+
+    @Value("${reports.storage.container:reports}")
+    private String container;
+
+    public ReportEngine(List<ReportType> types,
+                        DataServiceClient dataServiceClient,
+                        BlobServiceClient blobServiceClient,
+                        ObjectMapper objectMapper) {
+        this.types = types.stream().collect(Collectors.toMap(ReportType::name, Function.identity()));
+        this.dataServiceClient = dataServiceClient;
+        this.blobServiceClient = blobServiceClient;
+        this.objectMapper = objectMapper;
+    }
+
+    public void validate(String type, Map<String, Object> parameters) {
+        ReportFormat.from(parameters.get("format"));
+        reportType(type).validate(parameters);
+    }
+
+    // Returns the result path, /<container>/<blob>, as served by blob-service under /api/blobs.
+    // progress receives the share of source rows read so far, 0-99, whenever it changes.
+    public String generate(Report report, IntConsumer progress) {
+        ReportType type = reportType(report.getType());
+        Map<String, Object> parameters = report.getParameters() != null ? report.getParameters() : Map.of();
+        ReportFormat format = ReportFormat.from(parameters.get("format"));
+        String blobName = "report-" + report.getId() + "." + format.getExtension();
+
+        blobServiceClient.upload(container, blobName, format.getMediaType(),
+                outputStream -> write(report.getId(), type, parameters, format, outputStream, progress));
+        return "/" + container + "/" + blobName;
+    }
+
+    private void write(Long reportId, ReportType type, Map<String, Object> parameters, ReportFormat format,
+                       OutputStream outputStream, IntConsumer progress) throws IOException {
+        RowWriter writer = format.open(outputStream, type.columns(), objectMapper);
+        ReportType.Run run = type.start(parameters);
+        String category = type.sourceCategory(parameters);
+        long total = dataServiceClient.countRows(category);
+
+        long rows = 0;
+        int percent = 0;
+        String cursor = "";
+        do {
+            DataPage page = dataServiceClient.fetchPage(cursor, pageSize, category);
+            for (Map<String, Object> row : page.getItems()) {
+                run.accept(row, writer);
+            }
+            rows += page.getItems().size();
+            cursor = page.getNextCursor();
+
+            // Rows written after the count was taken can push this past 100, and rows deleted since
+            // can leave it short; it stays below 100 until the report is actually done
+            int current = total > 0 ? (int) Math.min(99, rows * 100 / total) : 0;
+            if (current != percent) {
+                percent = current;
+                progress.accept(percent);
+            }
+        } while (cursor != null);
+
+        run.finish(writer);
+        writer.finish();
+        log.info("Generated report {} from {} source rows", reportId, rows);
+    }
+
+    private ReportType reportType(String type) {
+        ReportType reportType = type != null ? types.get(type) : null;
+        if (reportType == null) {
+            throw new IllegalArgumentException("Unknown report type: " + type + ", expected one of " + types.keySet());
+        }
+        return reportType;
+    }
+}
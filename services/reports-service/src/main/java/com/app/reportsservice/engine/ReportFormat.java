@@ -0,0 +1,112 @@
+package com.app.reportsservice.engine;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+public enum ReportFormat {
+
+    CSV("csv", MediaType.parseMediaType("text/csv")) {
+        @Override
+        public RowWriter open(OutputStream outputStream, List<String> columns, ObjectMapper objectMapper)
+                throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+            return new RowWriter() {
+                @Override
+                public void write(Map<String, Object> row) throws IOException {
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writeCsvField(writer, row.get(columns.get(i)), objectMapper);
+                    }
+                    writer.write('\n');
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+    },
+
+    JSON("json", MediaType.APPLICATION_JSON) {
+        @Override
+        public RowWriter open(OutputStream outputStream, List<String> columns, ObjectMapper objectMapper)
+                throws IOException {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.writeStartArray();
+            return new RowWriter() {
+                @Override
+                public void write(Map<String, Object> row) throws IOException {
+                    generator.writeObject(row);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    generator.writeEndArray();
+                    generator.flush();
+                }
+            };
+        }
+    };
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ReportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public abstract RowWriter open(OutputStream outputStream, List<String> columns, ObjectMapper objectMapper)
+            throws IOException;
+
+    public static ReportFormat from(Object value) {
+        if (value == null) {
+            return CSV;
+        }
+        for (ReportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value.toString())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("format must be csv or json");
+    }
+
+    private static void writeCsvField(Writer writer, Object value, ObjectMapper objectMapper) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Map || value instanceof List
+                ? objectMapper.writeValueAsString(value)
+                : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
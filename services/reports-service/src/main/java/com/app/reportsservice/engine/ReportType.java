@@ -0,0 +1,34 @@
+package com.app.reportsservice.engine;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+// A kind of report, selected by Report.type. Implementations are Spring beans and are picked up
+// by ReportEngine automatically. Source rows are pushed through a Run one at a time, so a type
+// must keep only bounded state (running totals, not the rows themselves).
+public interface ReportType {
+
+    String name();
+
+    List<String> columns();
+
+    // Rejects parameters the type cannot run with; called before the report is queued
+    default void validate(Map<String, Object> parameters) {
+    }
+
+    // Limits the source rows to one category; data-service applies it, so other rows are never sent
+    default String sourceCategory(Map<String, Object> parameters) {
+        return null;
+    }
+
+    Run start(Map<String, Object> parameters);
+
+    interface Run {
+
+        void accept(Map<String, Object> row, RowWriter writer) throws IOException;
+
+        default void finish(RowWriter writer) throws IOException {
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.reportsservice.engine;
+
+import java.io.IOException;
+import java.util.Map;
+
+public interface RowWriter {
+
+    void write(Map<String, Object> row) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.app.reportsservice.exception;
+
+public class ReportQueueFullException extends RuntimeException {
+
+    public ReportQueueFullException(long pending) {
+        super("Report queue is full (" + pending + " pending), retry later");
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.reportsservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of data-service's cursor listing (GET /api/data?cursor=...)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataPage {
+    private List<Map<String, Object>> items;
+    private String nextCursor;
+}
@@ -38,12 +38,20 @@ public class Report {
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> parameters;
 
+    // SHA-256 of type, canonical parameters and the source data version; see ReportFingerprinter
+    @Column(length = 64)
+    private String fingerprint;
+
     @Column(name = "result_path", length = 500)
     private String resultPath;
 
     @Column(name = "error_message")
     private String errorMessage;
 
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
     @Column(name = "generated_at")
     private OffsetDateTime generatedAt;
 
@@ -0,0 +1,27 @@
+package com.app.reportsservice.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportStatusEvent {
+    private Long id;
+    private ReportStatus status;
+    // 0-100 while PROCESSING, when the size of the source data is known
+    private Integer progress;
+    private String resultPath;
+    private String errorMessage;
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == ReportStatus.COMPLETED || status == ReportStatus.FAILED;
+    }
+}
@@ -0,0 +1,24 @@
+package com.app.reportsservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+// Listing view of a report: leaves out parameters and error_message, which can be large
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSummary {
+    private Long id;
+    private String name;
+    private String type;
+    private ReportStatus status;
+    private String resultPath;
+    private OffsetDateTime generatedAt;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,57 @@
+package com.app.reportsservice.repository;
+
+import com.app.reportsservice.model.ReportStatus;
+import com.app.reportsservice.model.ReportSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Newest-first keyset listing. Each combination of filters is an equality prefix of one of the
+// (…, created_at, id) indexes in 03-reports-service-schema.sql, so a page is a short index range
+// scan however deep into the listing it is.
+@Repository
+@RequiredArgsConstructor
+public class ReportListingRepository {
+
+    private static final String SELECT_SQL = "SELECT id, name, type, status, result_path, generated_at, " +
+            "created_at, updated_at FROM report WHERE TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ReportSummary> findPage(ReportStatus status, String type,
+                                        OffsetDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+
+        if (status != null) {
+            sql.append(" AND status = ?");
+            params.add(status.name());
+        }
+        if (type != null) {
+            sql.append(" AND type = ?");
+            params.add(type);
+        }
+        if (afterCreatedAt != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            params.add(afterCreatedAt);
+            params.add(afterId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> ReportSummary.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .type(rs.getString("type"))
+                .status(ReportStatus.valueOf(rs.getString("status")))
+                .resultPath(rs.getString("result_path"))
+                .generatedAt(rs.getObject("generated_at", OffsetDateTime.class))
+                .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                .updatedAt(rs.getObject("updated_at", OffsetDateTime.class))
+                .build(), params.toArray());
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.reportsservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+// The report table doubles as the job queue. A claimed row is PROCESSING with a lease
+// (locked_by/locked_until) that its worker keeps extending; a row whose lease ran out belongs to
+// a worker that died and is claimed again by whichever replica polls next.
+@Repository
+@RequiredArgsConstructor
+public class ReportQueueRepository {
+
+    // SKIP LOCKED lets every replica claim at once without handing out a row twice
+    private static final String CLAIM_SQL = "UPDATE report SET status = 'PROCESSING', locked_by = ?, " +
+            "locked_until = now() + ? * interval '1 millisecond', attempts = attempts + 1, updated_at = now() " +
+            "WHERE id IN (SELECT id FROM report " +
+            "WHERE (status = 'PENDING' OR (status = 'PROCESSING' AND locked_until < now())) AND attempts < ? " +
+            "ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id";
+
+    private static final String FAIL_EXHAUSTED_SQL = "UPDATE report SET status = 'FAILED', " +
+            "error_message = 'Report generation was abandoned after ' || attempts || ' attempts', " +
+            "locked_by = NULL, locked_until = NULL, updated_at = now() " +
+            "WHERE status = 'PROCESSING' AND locked_until < now() AND attempts >= ? " +
+            "RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> claim(String workerId, int limit, Duration lease, int maxAttempts) {
+        return jdbcTemplate.queryForList(CLAIM_SQL, Long.class, workerId, lease.toMillis(), maxAttempts, limit);
+    }
+
+    public List<Long> failExhausted(int maxAttempts) {
+        return jdbcTemplate.queryForList(FAIL_EXHAUSTED_SQL, Long.class, maxAttempts);
+    }
+
+    public void extendLeases(String workerId, Collection<Long> ids, Duration lease) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE report SET locked_until = now() + ? * interval '1 millisecond' " +
+                        "WHERE id = ANY (?) AND locked_by = ? AND status = 'PROCESSING'",
+                lease.toMillis(), ids.toArray(Long[]::new), workerId);
+    }
+
+    // The completing calls only apply while the worker still holds the lease, so a job that was
+    // re-claimed after a stall cannot be finished twice
+    public boolean complete(Long id, String workerId, String resultPath) {
+        return jdbcTemplate.update("UPDATE report SET status = 'COMPLETED', result_path = ?, error_message = NULL, " +
+                        "generated_at = now(), locked_by = NULL, locked_until = NULL, updated_at = now() " +
+                        "WHERE id = ? AND locked_by = ? AND status = 'PROCESSING'",
+                resultPath, id, workerId) == 1;
+    }
+
+    public boolean fail(Long id, String workerId, String errorMessage) {
+        return jdbcTemplate.update("UPDATE report SET status = 'FAILED', error_message = ?, " +
+                        "locked_by = NULL, locked_until = NULL, updated_at = now() " +
+                        "WHERE id = ? AND locked_by = ? AND status = 'PROCESSING'",
+                errorMessage, id, workerId) == 1;
+    }
+
+    // Hands an interrupted job back to the queue without counting the attempt against it
+    public boolean release(Long id, String workerId) {
+        return jdbcTemplate.update("UPDATE report SET status = 'PENDING', attempts = GREATEST(attempts - 1, 0), " +
+                        "locked_by = NULL, locked_until = NULL, updated_at = now() " +
+                        "WHERE id = ? AND locked_by = ? AND status = 'PROCESSING'",
+                id, workerId) == 1;
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM report WHERE status = 'PENDING'", Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -5,14 +5,20 @@ import com.app.reportsservice.model.ReportStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
 
     List<Report> findByStatusOrderByCreatedAtDesc(ReportStatus status);
 
-    List<Report> findAllByOrderByCreatedAtDesc();
-
     List<Report> findByTypeOrderByCreatedAtDesc(String type);
+
+    Optional<Report> findFirstByFingerprintAndStatusIn(String fingerprint, Collection<ReportStatus> statuses);
+
+    Optional<Report> findFirstByFingerprintAndStatusAndGeneratedAtAfterOrderByGeneratedAtDesc(
+            String fingerprint, ReportStatus status, OffsetDateTime generatedAfter);
 }
@@ -0,0 +1,61 @@
+package com.app.reportsservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+// Identifies what a report would contain: its type, its parameters in canonical form (keys
+// sorted at every level) and the data version it would read. The version is the last entry of
+// data-service's data:changes stream, so any write to the source data yields a new fingerprint.
+@Component
+public class ReportFingerprinter {
+
+    private static final String NO_CHANGES = "0-0";
+
+    private final ObjectMapper canonicalMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String watermarkStream;
+
+    public ReportFingerprinter(ObjectMapper objectMapper,
+                               StringRedisTemplate stringRedisTemplate,
+                               @Value("${reports.dedup.watermark-stream:data:changes}") String watermarkStream) {
+        this.canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.watermarkStream = watermarkStream;
+    }
+
+    public String fingerprint(String type, Map<String, Object> parameters) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(type.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(canonicalMapper.writeValueAsBytes(parameters));
+            digest.update((byte) '\n');
+            digest.update(dataWatermark().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("parameters must be valid JSON", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String dataWatermark() {
+        List<MapRecord<String, Object, Object>> latest = stringRedisTemplate.opsForStream()
+                .reverseRange(watermarkStream, Range.unbounded(), Limit.limit().count(1));
+        return latest == null || latest.isEmpty() ? NO_CHANGES : latest.get(0).getId().getValue();
+    }
+}
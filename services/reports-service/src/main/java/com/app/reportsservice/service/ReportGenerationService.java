@@ -1,18 +1,31 @@
 package com.app.reportsservice.service;
 
+import com.app.reportsservice.engine.ReportEngine;
+import com.app.reportsservice.exception.ReportQueueFullException;
+import com.app.reportsservice.model.CursorPage;
 import com.app.reportsservice.model.Report;
 import com.app.reportsservice.model.ReportStatus;
+import com.app.reportsservice.model.ReportStatusEvent;
+import com.app.reportsservice.model.ReportSummary;
+import com.app.reportsservice.repository.ReportListingRepository;
+import com.app.reportsservice.repository.ReportQueueRepository;
 import com.app.reportsservice.repository.ReportRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 @Slf4j
 @Service
@@ -20,65 +33,139 @@ import java.util.Map;
 public class ReportGenerationService {
 
     private final ReportRepository reportRepository;
+    private final ReportQueueRepository reportQueueRepository;
+    private final ReportListingRepository reportListingRepository;
+    private final ReportEngine reportEngine;
+    private final ReportFingerprinter reportFingerprinter;
+    private final ReportStatusBroadcaster reportStatusBroadcaster;
     private final RedisTemplate<String, Object> redisTemplate;
 
     private static final String CACHE_PREFIX = "report:";
     private static final Duration CACHE_TTL = Duration.ofMinutes(5);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = ",";
+    private static final List<ReportStatus> ACTIVE_STATUSES = List.of(ReportStatus.PENDING, ReportStatus.PROCESSING);
 
+    @Value("${reports.queue.max-pending:1000}")
+    private long maxPending;
+
+    @Value("${reports.dedup.window:10m}")
+    private Duration dedupWindow;
+
+    // The report row is the job: it is queued as PENDING and picked up by a ReportWorker.
+    // A request identical to one that is queued, running or recently completed gets that report
+    // back instead of a new run.
     public Report createReport(String name, String type, Map<String, Object> parameters) {
+        reportEngine.validate(type, parameters);
+
+        String fingerprint = reportFingerprinter.fingerprint(type, parameters);
+        Optional<Report> duplicate = findDuplicate(fingerprint);
+        if (duplicate.isPresent()) {
+            log.info("Reusing report {} for duplicate request: name={}, type={}", duplicate.get().getId(), name, type);
+            return duplicate.get();
+        }
+
+        // A soft limit: the count and the insert are separate statements, so concurrent requests
+        // can each pass the check and overshoot maxPending by up to the number of them in flight
+        long pending = reportQueueRepository.countPending();
+        if (pending >= maxPending) {
+            throw new ReportQueueFullException(pending);
+        }
+
         Report report = Report.builder()
                 .name(name)
                 .type(type)
                 .parameters(parameters)
+                .fingerprint(fingerprint)
                 .status(ReportStatus.PENDING)
                 .build();
 
-        report = reportRepository.save(report);
-        cacheReportStatus(report);
+        try {
+            report = reportRepository.save(report);
+        } catch (DataIntegrityViolationException e) {
+            // An identical request was queued concurrently; the unique index lets only one through
+            return reportRepository.findFirstByFingerprintAndStatusIn(fingerprint, ACTIVE_STATUSES)
+                    .orElseThrow(() -> e);
+        }
+        cacheReportStatus(report.getId(), report.getStatus());
 
         log.info("Created report: id={}, name={}, type={}", report.getId(), name, type);
         return report;
     }
 
-    @Async
-    public void processReport(Long reportId) {
-        Report report = reportRepository.findById(reportId)
-                .orElseThrow(() -> new IllegalArgumentException("Report not found: " + reportId));
-
-        report.setStatus(ReportStatus.PROCESSING);
-        reportRepository.save(report);
-        cacheReportStatus(report);
+    // Called by the worker holding the lease on reportId; the row is already PROCESSING.
+    // shuttingDown tells a failure caused by the worker interrupting the job apart from a real one.
+    public void processReport(Long reportId, String workerId, BooleanSupplier shuttingDown) {
+        cacheReportStatus(ReportStatusEvent.builder().id(reportId).status(ReportStatus.PROCESSING).progress(0).build());
 
         try {
-            log.info("Processing report: id={}", reportId);
-
-            // Simulate report generation work
-            Thread.sleep(5000);
-
-            report.setStatus(ReportStatus.COMPLETED);
-            report.setGeneratedAt(OffsetDateTime.now());
-            report.setResultPath("/reports/generated/" + reportId + ".pdf");
-            reportRepository.save(report);
-            cacheReportStatus(report);
-
-            log.info("Report completed: id={}", reportId);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            report.setStatus(ReportStatus.FAILED);
-            report.setErrorMessage("Report generation was interrupted");
-            reportRepository.save(report);
-            cacheReportStatus(report);
+            Report report = getReport(reportId);
+            log.info("Processing report: id={}, attempt={}", reportId, report.getAttempts());
+
+            String resultPath = reportEngine.generate(report, percent -> cacheReportStatus(ReportStatusEvent.builder()
+                    .id(reportId).status(ReportStatus.PROCESSING).progress(percent).build()));
+
+            if (reportQueueRepository.complete(reportId, workerId, resultPath)) {
+                cacheReportStatus(ReportStatusEvent.builder()
+                        .id(reportId).status(ReportStatus.COMPLETED).progress(100).resultPath(resultPath).build());
+                log.info("Report completed: id={}, resultPath={}", reportId, resultPath);
+            } else {
+                log.warn("Lost the lease on report {} before it completed", reportId);
+            }
         } catch (Exception e) {
+            // Code that catches the interrupt usually clears the flag, so the worker's own flag is
+            // what decides; clearing it here also keeps the release query from being interrupted
+            boolean interrupted = Thread.interrupted();
+            if (interrupted || shuttingDown.getAsBoolean()) {
+                // Shutting down: put the job back so another replica picks it up straight away
+                if (reportQueueRepository.release(reportId, workerId)) {
+                    cacheReportStatus(reportId, ReportStatus.PENDING);
+                    log.info("Released report {} back to the queue", reportId);
+                }
+                return;
+            }
             log.error("Report generation failed: id={}", reportId, e);
-            report.setStatus(ReportStatus.FAILED);
-            report.setErrorMessage(e.getMessage());
-            reportRepository.save(report);
-            cacheReportStatus(report);
+            if (reportQueueRepository.fail(reportId, workerId, e.getMessage())) {
+                cacheReportStatus(ReportStatusEvent.builder()
+                        .id(reportId).status(ReportStatus.FAILED).errorMessage(e.getMessage()).build());
+            }
         }
     }
 
-    public List<Report> listReports() {
-        return reportRepository.findAllByOrderByCreatedAtDesc();
+    private Optional<Report> findDuplicate(String fingerprint) {
+        Optional<Report> active = reportRepository.findFirstByFingerprintAndStatusIn(fingerprint, ACTIVE_STATUSES);
+        if (active.isPresent() || dedupWindow.isZero()) {
+            return active;
+        }
+        return reportRepository.findFirstByFingerprintAndStatusAndGeneratedAtAfterOrderByGeneratedAtDesc(
+                fingerprint, ReportStatus.COMPLETED, OffsetDateTime.now().minus(dedupWindow));
+    }
+
+    public CursorPage<ReportSummary> listReports(String status, String type, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ReportStatus statusFilter = parseStatus(status);
+
+        OffsetDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            afterCreatedAt = OffsetDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+
+        // One extra row tells whether there is a next page without a count query
+        List<ReportSummary> rows = reportListingRepository.findPage(
+                statusFilter, type != null && !type.isEmpty() ? type : null, afterCreatedAt, afterId, size + 1);
+        if (rows.size() <= size) {
+            return CursorPage.<ReportSummary>builder().items(rows).build();
+        }
+        List<ReportSummary> items = rows.subList(0, size);
+        return CursorPage.<ReportSummary>builder()
+                .items(items)
+                .nextCursor(encodeCursor(items.get(size - 1)))
+                .build();
     }
 
     public Report getReport(Long id) {
@@ -87,19 +174,85 @@ public class ReportGenerationService {
     }
 
     public ReportStatus getReportStatus(Long id) {
-        String cacheKey = CACHE_PREFIX + "status:" + id;
-        Object cached = redisTemplate.opsForValue().get(cacheKey);
+        Object cached = redisTemplate.opsForValue().get(statusKey(id));
         if (cached != null) {
             return ReportStatus.valueOf(cached.toString());
         }
 
         Report report = getReport(id);
-        cacheReportStatus(report);
+        redisTemplate.opsForValue().set(statusKey(id), report.getStatus().name(), CACHE_TTL);
         return report.getStatus();
     }
 
-    private void cacheReportStatus(Report report) {
-        String cacheKey = CACHE_PREFIX + "status:" + report.getId();
-        redisTemplate.opsForValue().set(cacheKey, report.getStatus().name(), CACHE_TTL);
+    // Streams status changes of one report until it completes or fails, starting with its
+    // current state
+    public SseEmitter watchReport(Long id) {
+        return reportStatusBroadcaster.watch(id, () -> {
+            Report report = getReport(id);
+            Integer progress = switch (report.getStatus()) {
+                case PROCESSING -> {
+                    Object cached = redisTemplate.opsForValue().get(progressKey(id));
+                    yield cached instanceof Number number ? number.intValue() : null;
+                }
+                case COMPLETED -> 100;
+                default -> null;
+            };
+            return ReportStatusEvent.builder()
+                    .id(id)
+                    .status(report.getStatus())
+                    .progress(progress)
+                    .resultPath(report.getResultPath())
+                    .errorMessage(report.getErrorMessage())
+                    .build();
+        });
+    }
+
+    public void cacheReportStatus(Long id, ReportStatus status) {
+        cacheReportStatus(ReportStatusEvent.builder().id(id).status(status).build());
+    }
+
+    // Caches the status for GET /status and pushes the change to everyone watching the report
+    public void cacheReportStatus(ReportStatusEvent event) {
+        redisTemplate.opsForValue().set(statusKey(event.getId()), event.getStatus().name(), CACHE_TTL);
+        if (event.getProgress() != null) {
+            redisTemplate.opsForValue().set(progressKey(event.getId()), event.getProgress(), CACHE_TTL);
+        }
+        reportStatusBroadcaster.publish(event);
+    }
+
+    private ReportStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return ReportStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    private String encodeCursor(ReportSummary last) {
+        String position = last.getCreatedAt().toString() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, 2);
+            OffsetDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private String statusKey(Long id) {
+        return CACHE_PREFIX + "status:" + id;
+    }
+
+    private String progressKey(Long id) {
+        return CACHE_PREFIX + "progress:" + id;
     }
 }
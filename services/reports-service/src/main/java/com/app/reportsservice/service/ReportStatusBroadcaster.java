@@ -0,0 +1,121 @@
+package com.app.reportsservice.service;
+
+import com.app.reportsservice.model.ReportStatusEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Pushes report status changes to server-sent-event watchers. Status changes are published on a
+// Redis channel by whichever replica runs the report; every replica subscribes once and fans each
+// message out to its own watchers of that report.
+@Slf4j
+@Component
+public class ReportStatusBroadcaster implements MessageListener {
+
+    public static final String STATUS_CHANNEL = "report:status";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Map<Long, Set<SseEmitter>> watchers = new ConcurrentHashMap<>();
+
+    public ReportStatusBroadcaster(RedisTemplate<String, Object> redisTemplate,
+                                   RedisMessageListenerContainer listenerContainer,
+                                   ObjectMapper objectMapper,
+                                   @Value("${reports.events.timeout:30m}") Duration timeout) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        listenerContainer.addMessageListener(this, new ChannelTopic(STATUS_CHANNEL));
+    }
+
+    public void publish(ReportStatusEvent event) {
+        redisTemplate.convertAndSend(STATUS_CHANNEL, event);
+    }
+
+    // The watcher is registered before the snapshot is taken, so a change made in between is
+    // delivered as an event rather than lost
+    public SseEmitter watch(Long reportId, Supplier<ReportStatusEvent> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        watchers.compute(reportId, (id, reportWatchers) -> {
+            Set<SseEmitter> updated = reportWatchers != null ? reportWatchers : ConcurrentHashMap.newKeySet();
+            updated.add(emitter);
+            return updated;
+        });
+        emitter.onCompletion(() -> remove(reportId, emitter));
+        emitter.onTimeout(() -> remove(reportId, emitter));
+        emitter.onError(e -> remove(reportId, emitter));
+
+        try {
+            send(emitter, snapshot.get());
+        } catch (RuntimeException e) {
+            remove(reportId, emitter);
+            throw e;
+        }
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        ReportStatusEvent event;
+        try {
+            event = objectMapper.convertValue(body, ReportStatusEvent.class);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed report status message on {}", STATUS_CHANNEL);
+            return;
+        }
+
+        Set<SseEmitter> reportWatchers = event.getId() != null ? watchers.get(event.getId()) : null;
+        if (reportWatchers != null) {
+            reportWatchers.forEach(emitter -> send(emitter, event));
+        }
+    }
+
+    // A comment line every so often keeps idle connections open through proxies and finds
+    // watchers that went away
+    @Scheduled(fixedDelayString = "${reports.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        watchers.values().forEach(reportWatchers -> reportWatchers.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    private void send(SseEmitter emitter, ReportStatusEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(event));
+            if (event.isFinished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected, or the emitter already completed on an earlier event
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long reportId, SseEmitter emitter) {
+        watchers.computeIfPresent(reportId, (id, reportWatchers) -> {
+            reportWatchers.remove(emitter);
+            return reportWatchers.isEmpty() ? null : reportWatchers;
+        });
+    }
+}
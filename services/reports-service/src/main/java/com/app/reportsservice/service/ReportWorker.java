@@ -0,0 +1,112 @@
+package com.app.reportsservice.service;
+
+import com.app.reportsservice.model.ReportStatus;
+import com.app.reportsservice.repository.ReportQueueRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Claims queued reports from the database and runs at most `concurrency` of them at a time.
+// Every replica runs one, so throughput scales with the number of replicas.
+@Slf4j
+@Component
+public class ReportWorker {
+
+    private final ReportQueueRepository reportQueueRepository;
+    private final ReportGenerationService reportGenerationService;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration shutdownGrace;
+
+    private final String workerId = hostName() + ":" + UUID.randomUUID();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean stopping;
+    private volatile boolean interrupting;
+
+    public ReportWorker(ReportQueueRepository reportQueueRepository,
+                        ReportGenerationService reportGenerationService,
+                        @Value("${reports.queue.concurrency:4}") int concurrency,
+                        @Value("${reports.queue.max-attempts:3}") int maxAttempts,
+                        @Value("${reports.queue.lease:2m}") Duration lease,
+                        @Value("${reports.queue.shutdown-grace:20s}") Duration shutdownGrace) {
+        this.reportQueueRepository = reportQueueRepository;
+        this.reportGenerationService = reportGenerationService;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.shutdownGrace = shutdownGrace;
+    }
+
+    @Scheduled(fixedDelayString = "${reports.queue.poll-interval-ms:1000}")
+    public void poll() {
+        if (stopping) {
+            return;
+        }
+
+        // Jobs whose worker kept dying on them are failed instead of being retried forever
+        reportQueueRepository.failExhausted(maxAttempts)
+                .forEach(id -> reportGenerationService.cacheReportStatus(id, ReportStatus.FAILED));
+
+        int free = concurrency - running.size();
+        if (free <= 0) {
+            return;
+        }
+        List<Long> claimed = reportQueueRepository.claim(workerId, free, lease, maxAttempts);
+        for (Long id : claimed) {
+            running.add(id);
+            executor.execute(() -> {
+                try {
+                    reportGenerationService.processReport(id, workerId, () -> interrupting);
+                } finally {
+                    running.remove(id);
+                }
+            });
+        }
+        if (!claimed.isEmpty()) {
+            log.debug("Claimed {} reports: {}", claimed.size(), claimed);
+        }
+    }
+
+    // Keeps the leases of running jobs alive; a worker that stops heartbeating loses its jobs
+    // to other replicas once the lease runs out
+    @Scheduled(fixedDelayString = "${reports.queue.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        reportQueueRepository.extendLeases(workerId, Set.copyOf(running), lease);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownGrace.toMillis(), TimeUnit.MILLISECONDS)) {
+            // Interrupted jobs release themselves back to PENDING
+            log.info("Interrupting {} running reports on shutdown", running.size());
+            interrupting = true;
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}